@@ -0,0 +1,149 @@
+import java.util.*;
+
+/**
+ * DATA STRUCTURE: INVERTED INDEX (attribute value -> BitSet of city ordinals)
+ * Ordinals are positions in the engine's city ring. Every value is posted
+ * twice: qualified ("tag:island", "state:kerala", "climate:tropical",
+ * "season:nov") and bare ("island"), so queries may omit the field.
+ *
+ * QUERY GRAMMAR: expr := term (OR term)* ; term := factor (AND factor)* ;
+ * factor := NOT factor | '(' expr ')' | value | "quoted value"
+ * Evaluation is word-level BitSet and/or/andNot: O(N / 64) per operator.
+ */
+class AttributeIndex {
+    private final Map<String, BitSet> postings = new HashMap<>();
+    private final int size;
+
+    public AttributeIndex(List<TravelNode> cities) {
+        size = cities.size();
+        for (int ordinal = 0; ordinal < cities.size(); ordinal++) {
+            TravelNode city = cities.get(ordinal);
+            for (String tag : city.tags)
+                post("tag", tag, ordinal);
+            post("state", city.state, ordinal);
+            if (city.details != null) {
+                post("climate", city.details.climate, ordinal);
+                int months = SeasonMonths.mask(city.details.bestSeason);
+                for (int m = 0; m < 12; m++)
+                    if ((months & (1 << m)) != 0)
+                        post("season", SeasonMonths.NAMES[m], ordinal);
+            }
+        }
+    }
+
+    private void post(String field, String value, int ordinal) {
+        if (value == null)
+            return;
+        String v = value.trim().toLowerCase();
+        postings.computeIfAbsent(field + ":" + v, x -> new BitSet(size)).set(ordinal);
+        postings.computeIfAbsent(v, x -> new BitSet(size)).set(ordinal);
+    }
+
+    // Posting list for one value (a copy, safe to mutate)
+    public BitSet lookup(String key) {
+        BitSet bits = postings.get(key.trim().toLowerCase());
+        return bits == null ? new BitSet(size) : (BitSet) bits.clone();
+    }
+
+    public BitSet query(String expression) {
+        return query(expression, new int[1]);
+    }
+
+    // Same; visited[0] += bitmap words combined (one pass of N / 64 per lookup, NOT, AND and OR)
+    BitSet query(String expression, int[] visited) {
+        QueryParser parser = new QueryParser(tokenize(expression));
+        BitSet result = parser.expr();
+        if (parser.pos != parser.tokens.size())
+            throw new IllegalArgumentException("Unexpected '" + parser.tokens.get(parser.pos) + "' in query");
+        visited[0] += parser.passes * ((size + 63) >>> 6);
+        return result;
+    }
+
+    private static List<String> tokenize(String expression) {
+        List<String> tokens = new ArrayList<>();
+        int i = 0;
+        while (i < expression.length()) {
+            char c = expression.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '(' || c == ')') {
+                tokens.add(String.valueOf(c));
+                i++;
+            } else if (c == '"') {
+                int end = expression.indexOf('"', i + 1);
+                if (end < 0)
+                    throw new IllegalArgumentException("Unterminated quote in query");
+                tokens.add(expression.substring(i, end + 1));
+                i = end + 1;
+            } else {
+                int start = i;
+                while (i < expression.length() && !Character.isWhitespace(expression.charAt(i))
+                        && expression.charAt(i) != '(' && expression.charAt(i) != ')')
+                    i++;
+                tokens.add(expression.substring(start, i));
+            }
+        }
+        return tokens;
+    }
+
+    // Recursive descent over the token list, evaluating as it parses
+    private class QueryParser {
+        final List<String> tokens;
+        int pos = 0;
+        int passes = 0; // Word-level bitmap operations
+
+        QueryParser(List<String> tokens) {
+            this.tokens = tokens;
+        }
+
+        boolean accept(String keyword) {
+            if (pos < tokens.size() && tokens.get(pos).equalsIgnoreCase(keyword)) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        BitSet expr() {
+            BitSet result = term();
+            while (accept("OR")) {
+                result.or(term());
+                passes++;
+            }
+            return result;
+        }
+
+        BitSet term() {
+            BitSet result = factor();
+            while (accept("AND")) {
+                result.and(factor());
+                passes++;
+            }
+            return result;
+        }
+
+        BitSet factor() {
+            if (accept("NOT")) {
+                BitSet negated = factor();
+                negated.flip(0, size);
+                passes++;
+                return negated;
+            }
+            if (accept("(")) {
+                BitSet inner = expr();
+                if (!accept(")"))
+                    throw new IllegalArgumentException("Missing ')' in query");
+                return inner;
+            }
+            if (pos >= tokens.size())
+                throw new IllegalArgumentException("Query ended unexpectedly");
+            String token = tokens.get(pos++);
+            if (token.equals(")"))
+                throw new IllegalArgumentException("Unexpected ')' in query");
+            if (token.startsWith("\""))
+                token = token.substring(1, token.length() - 1);
+            passes++;
+            return lookup(token);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+import java.util.*;
+
+/**
+ * ============================================================
+ * ANALYSIS: BATCH QUERIES vs ONE CALL PER REQUEST
+ * ============================================================
+ *
+ * Sends random page loads through batch(prefixes, ids) over the synthetic
+ * benchmark tree: prefixes of real city names with mixed case, duplicates,
+ * prefixes of each other and misses ("...zz"), plus city, category and
+ * unknown ids. Every few batches an edit is published in between. Each
+ * slice of the answer must equal:
+ * - the same engine's search(prefix), in the same order;
+ * - a fresh new DekhoBharatDSA(copy)'s search(prefix) as a set (search()
+ * order follows the Trie's HashMap walk, which depends on edit history)
+ * and its findDiscoveryPath(id), node for node.
+ * Exits with status 1 on the first mismatch.
+ *
+ * Compile together with the engine:
+ * javac DekhoBharatDSA.java DekhoBharatBenchmark.java BatchQueryHarness.java
+ * java BatchQueryHarness [batches] [seed]
+ */
+
+public class BatchQueryHarness {
+
+    private static void check(boolean ok, int batch, String what) {
+        if (!ok) {
+            System.err.println("MISMATCH in batch " + batch + ": " + what);
+            System.exit(1);
+        }
+    }
+
+    private static List<String> ids(List<TravelNode> nodes) {
+        if (nodes == null)
+            return null;
+        List<String> ids = new ArrayList<>(nodes.size());
+        for (TravelNode n : nodes)
+            ids.add(n.id);
+        return ids;
+    }
+
+    private static List<String> sortedIds(List<TravelNode> nodes) {
+        List<String> ids = ids(nodes);
+        Collections.sort(ids);
+        return ids;
+    }
+
+    public static void main(String[] args) {
+        int batches = args.length > 0 ? Integer.parseInt(args[0]) : 300;
+        Random rnd = new Random(args.length > 1 ? Long.parseLong(args[1]) : 11);
+        System.out.println("=== DEKHO BHARAT: BATCH QUERIES vs ONE CALL PER REQUEST (" + batches + " batches) ===\n");
+
+        List<TravelNode> cities = new ArrayList<>();
+        DekhoBharatDSA engine = new DekhoBharatDSA(DekhoBharatBenchmark.syntheticTree(4, 3, 5_000, cities));
+        DekhoBharatDSA rebuilt = new DekhoBharatDSA(engine.snapshot().root.copyTree());
+        long requests = 0;
+        for (int batch = 1; batch <= batches; batch++) {
+            if (batch % 10 == 0) { // Publish an edit, then compare against a rebuild of the new tree
+                TravelNode city = cities.get(rnd.nextInt(cities.size()));
+                String id = "new-" + batch, name = city.city.substring(0, 1 + rnd.nextInt(city.city.length()));
+                engine.mutate(editor -> {
+                    if (editor.get(city.id) != null && rnd.nextBoolean())
+                        editor.remove(city.id);
+                    editor.add("cat-" + rnd.nextInt(84),
+                            new TravelNode(id, name, "State", "Added.", city.details));
+                });
+                rebuilt = new DekhoBharatDSA(engine.snapshot().root.copyTree());
+            }
+
+            List<String> prefixes = new ArrayList<>(), ids = new ArrayList<>();
+            for (int i = 1 + rnd.nextInt(40); i > 0; i--) {
+                String name = cities.get(rnd.nextInt(cities.size())).city;
+                String prefix = name.substring(0, Math.min(name.length(), rnd.nextInt(7)));
+                if (rnd.nextInt(8) == 0)
+                    prefix = prefix.toUpperCase();
+                if (rnd.nextInt(10) == 0)
+                    prefix += "zz";
+                prefixes.add(prefix);
+                if (rnd.nextInt(5) == 0)
+                    prefixes.add(prefixes.get(rnd.nextInt(prefixes.size())));
+                ids.add(rnd.nextInt(10) == 0 ? "nope"
+                        : rnd.nextBoolean() ? cities.get(rnd.nextInt(cities.size())).id : "cat-" + rnd.nextInt(84));
+            }
+
+            BatchResult result = engine.batch(prefixes, ids);
+            for (int i = 0; i < prefixes.size(); i++) {
+                List<TravelNode> matches = result.matches(i);
+                check(matches.equals(engine.search(prefixes.get(i))), batch, "search '" + prefixes.get(i) + "'");
+                check(sortedIds(matches).equals(sortedIds(rebuilt.search(prefixes.get(i)))), batch,
+                        "rebuilt search '" + prefixes.get(i) + "'");
+            }
+            for (int i = 0; i < ids.size(); i++)
+                check(Objects.equals(ids(result.path(i)), ids(rebuilt.findDiscoveryPath(ids.get(i)))), batch,
+                        "path " + ids.get(i));
+            requests += prefixes.size() + ids.size();
+        }
+        System.out.println("OK: " + requests + " requests in " + batches + " batches matched one call per request");
+    }
+}
@@ -0,0 +1,109 @@
+import java.util.*;
+
+/**
+ * STRUCT-OF-ARRAYS: Answers to one batch of prefixes and ids, all from the
+ * same snapshot, in a handful of flat arrays instead of a List per request.
+ * - Search: every match sits once in matches; prefix i owns the slice
+ * [matchStart[i], matchEnd[i]), and a prefix that extends another ("go",
+ * "goa") reuses a sub-slice of the shorter one's matches.
+ * - Paths: a forest of parent links. Each distinct node on any requested
+ * path is stored once in pathNodes with the slot of its parent in
+ * pathParent (-1 at the root); id i ends at slot pathSlot[i] (-1 if unknown).
+ * Ancestors shared by many ids are resolved once.
+ */
+public final class BatchResult {
+    final long version;
+    final String[] prefixes;
+    final TravelNode[] matches;
+    final int[] matchStart, matchEnd;
+    final String[] ids;
+    final TravelNode[] pathNodes;
+    final int[] pathParent;
+    final int[] pathSlot;
+    final int nodesVisited; // Trie nodes walked + tree nodes climbed (for EngineMetrics)
+
+    BatchResult(EngineSnapshot s, List<String> prefixes, List<String> ids) {
+        version = s.version;
+        this.prefixes = prefixes.toArray(new String[0]);
+        this.ids = ids.toArray(new String[0]);
+
+        // SEARCH: sort distinct lowercase keys, walk them together, map back to input order
+        TreeMap<String, Integer> keyIndex = new TreeMap<>();
+        for (String prefix : this.prefixes)
+            keyIndex.put(prefix.toLowerCase(), 0);
+        String[] keys = keyIndex.keySet().toArray(new String[0]);
+        for (int k = 0; k < keys.length; k++)
+            keyIndex.put(keys[k], k);
+        int[] keyStart = new int[keys.length], keyEnd = new int[keys.length];
+        List<TravelNode> found = new ArrayList<>();
+        int trieNodes = s.searchIndex.searchSorted(keys, found, keyStart, keyEnd);
+        matches = found.toArray(new TravelNode[0]);
+        matchStart = new int[this.prefixes.length];
+        matchEnd = new int[this.prefixes.length];
+        for (int i = 0; i < this.prefixes.length; i++) {
+            int k = keyIndex.get(this.prefixes[i].toLowerCase());
+            matchStart[i] = keyStart[k];
+            matchEnd[i] = keyEnd[k];
+        }
+
+        // PATHS: one pass; each climb stops at the first ancestor already stored
+        Map<TravelNode, Integer> slots = new IdentityHashMap<>();
+        List<TravelNode> nodes = new ArrayList<>();
+        List<Integer> parents = new ArrayList<>();
+        List<TravelNode> climb = new ArrayList<>();
+        pathSlot = new int[this.ids.length];
+        for (int i = 0; i < this.ids.length; i++) {
+            TravelNode node = s.idIndex.get(this.ids[i]);
+            if (node == null) {
+                pathSlot[i] = -1;
+                continue;
+            }
+            climb.clear();
+            TravelNode n = node;
+            while (n != null && !slots.containsKey(n)) {
+                climb.add(n);
+                n = n.parent();
+            }
+            int parent = n == null ? -1 : slots.get(n);
+            for (int c = climb.size() - 1; c >= 0; c--) { // Top-down, so parents get slots first
+                slots.put(climb.get(c), nodes.size());
+                nodes.add(climb.get(c));
+                parents.add(parent);
+                parent = nodes.size() - 1;
+            }
+            pathSlot[i] = slots.get(node);
+        }
+        pathNodes = nodes.toArray(new TravelNode[0]);
+        pathParent = parents.stream().mapToInt(Integer::intValue).toArray();
+        nodesVisited = trieNodes + pathNodes.length; // Each climbed node is stored exactly once
+    }
+
+    int prefixCount() {
+        return prefixes.length;
+    }
+
+    int idCount() {
+        return ids.length;
+    }
+
+    // Read-only view of prefix i's matches, in Trie.search order
+    List<TravelNode> matches(int i) {
+        return Collections.unmodifiableList(Arrays.asList(matches).subList(matchStart[i], matchEnd[i]));
+    }
+
+    // Node for id i, or null if unknown
+    TravelNode node(int i) {
+        return pathSlot[i] < 0 ? null : pathNodes[pathSlot[i]];
+    }
+
+    // Root -> node path for id i (like findDiscoveryPath), or null if unknown
+    List<TravelNode> path(int i) {
+        if (pathSlot[i] < 0)
+            return null;
+        List<TravelNode> path = new ArrayList<>();
+        for (int slot = pathSlot[i]; slot >= 0; slot = pathParent[slot])
+            path.add(pathNodes[slot]);
+        Collections.reverse(path);
+        return path;
+    }
+}
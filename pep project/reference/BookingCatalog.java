@@ -0,0 +1,179 @@
+import java.util.*;
+
+/**
+ * DATA STRUCTURE: BOOKING CATALOG (price-sorted struct-of-arrays + postings)
+ * Every city's BookingOptions, flattened engine-wide into primitive columns
+ * sorted by price: the "\u20B94,500" strings are parsed once into longs, and each
+ * entry carries its city's pre-order number so a category subtree is just
+ * an interval filter. Activity words and types are posted like
+ * AttributeIndex values ("type:adventure", "activity:scuba", bare "scuba");
+ * posting lists hold entry numbers ascending, i.e. they are price-sorted too.
+ * - Build: O(B log B) [B = booking options]
+ * - find: O(log B + m) [binary search to minPrice, then a scan over the m
+ * entries of the term priced up to maxPrice]
+ */
+final class BookingCatalog {
+    static final long UNPRICED = Long.MAX_VALUE; // Unparsable prices sort last, reached only by unbounded queries
+
+    final long[] price;
+    final int[] city; // Ring ordinal
+    final int[] position; // City's pre-order number
+    final BookingOption[] option;
+    private final Map<String, int[]> postings = new HashMap<>();
+
+    BookingCatalog(List<TravelNode> cities, TreeIntervals intervals) {
+        List<long[]> entries = new ArrayList<>(); // { price, ring ordinal, index into that city's options }
+        for (int ordinal = 0; ordinal < cities.size(); ordinal++) {
+            NodeDetails d = cities.get(ordinal).details;
+            if (d == null)
+                continue;
+            for (int i = 0; i < d.bookingOptions.size(); i++)
+                entries.add(new long[] { parsePrice(d.bookingOptions.get(i).price), ordinal, i });
+        }
+        entries.sort((a, b) -> Long.compare(a[0], b[0])); // Stable: equal prices keep ring order
+
+        int n = entries.size();
+        price = new long[n];
+        city = new int[n];
+        position = new int[n];
+        option = new BookingOption[n];
+        Map<String, List<Integer>> terms = new HashMap<>();
+        for (int e = 0; e < n; e++) {
+            long[] entry = entries.get(e);
+            TravelNode c = cities.get((int) entry[1]);
+            price[e] = entry[0];
+            city[e] = (int) entry[1];
+            position[e] = intervals.enter(c.id);
+            option[e] = c.details.bookingOptions.get((int) entry[2]);
+            post(terms, "type", option[e].type, e);
+            if (option[e].activity != null)
+                for (String word : words(option[e].activity))
+                    post(terms, "activity", word, e);
+        }
+        for (Map.Entry<String, List<Integer>> t : terms.entrySet())
+            postings.put(t.getKey(), t.getValue().stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    private static void post(Map<String, List<Integer>> terms, String field, String value, int entry) {
+        if (value == null || value.isBlank())
+            return;
+        String v = value.trim().toLowerCase();
+        for (String key : new String[] { field + ":" + v, v }) {
+            List<Integer> list = terms.computeIfAbsent(key, x -> new ArrayList<>());
+            if (list.isEmpty() || list.get(list.size() - 1) != entry) // "Scuba" type + "scuba" word
+                list.add(entry);
+        }
+    }
+
+    private static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        for (String w : text.toLowerCase().split("[^\\p{L}\\p{N}]+"))
+            if (!w.isEmpty())
+                words.add(w);
+        return words;
+    }
+
+    int size() {
+        return price.length;
+    }
+
+    /**
+     * PARSER: "\u20B94,500", "Rs. 1200", "INR 25,000" or "1500.50" -> whole rupees.
+     * First number in the string (grouping commas skipped, fraction dropped);
+     * UNPRICED when there is none.
+     */
+    static long parsePrice(String text) {
+        if (text == null)
+            return UNPRICED;
+        int i = 0;
+        while (i < text.length() && !Character.isDigit(text.charAt(i)))
+            i++;
+        if (i == text.length())
+            return UNPRICED;
+        long value = 0;
+        for (; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isDigit(c))
+                value = value * 10 + (c - '0');
+            else if (c != ',')
+                break;
+            if (value >= UNPRICED / 10)
+                return UNPRICED;
+        }
+        return value;
+    }
+
+    /**
+     * RANGE QUERY: Entries priced in [minPrice, maxPrice] whose city lies in
+     * the pre-order interval [from, to), cheapest first. keyword = null for
+     * any option, else a type or activity term; several words must all match
+     * ("scuba diving"), qualified terms ("type:adventure") pin the field.
+     * visited[0] += entries probed by the binary search and scanned after it.
+     */
+    int[] find(String keyword, long minPrice, long maxPrice, int from, int to, int[] visited) {
+        int[] candidates = keyword == null || keyword.isBlank() ? null : candidates(keyword);
+        if (candidates != null && candidates.length == 0)
+            return candidates;
+        int count = candidates == null ? price.length : candidates.length;
+
+        // Lower bound on price: first candidate priced >= minPrice
+        int lo = 0, hi = count;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            visited[0]++;
+            if (price[candidates == null ? mid : candidates[mid]] < minPrice)
+                lo = mid + 1;
+            else
+                hi = mid;
+        }
+
+        int[] hits = new int[8];
+        int found = 0;
+        for (int i = lo; i < count; i++) {
+            int e = candidates == null ? i : candidates[i];
+            visited[0]++;
+            if (price[e] > maxPrice)
+                break;
+            if (position[e] < from || position[e] >= to)
+                continue;
+            if (found == hits.length)
+                hits = Arrays.copyOf(hits, found * 2);
+            hits[found++] = e;
+        }
+        return Arrays.copyOf(hits, found);
+    }
+
+    // Posting list of a single term, or the sorted intersection for several words
+    private int[] candidates(String keyword) {
+        String key = keyword.trim().toLowerCase();
+        int[] single = postings.get(key);
+        if (single != null || key.indexOf(':') >= 0)
+            return single == null ? new int[0] : single;
+        int[] result = null;
+        for (String word : words(key)) {
+            int[] list = postings.get(word);
+            if (list == null)
+                return new int[0];
+            result = result == null ? list : intersect(result, list);
+        }
+        return result == null ? new int[0] : result;
+    }
+
+    // Linear merge of two ascending lists
+    private static int[] intersect(int[] a, int[] b) {
+        int[] out = new int[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j])
+                i++;
+            else if (a[i] > b[j])
+                j++;
+            else {
+                out[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+}
@@ -0,0 +1,186 @@
+import java.util.*;
+
+/**
+ * ============================================================
+ * ANALYSIS: BOOKING CATALOG vs BRUTE FORCE AND FULL REBUILD
+ * ============================================================
+ *
+ * Runs random findBookings(subtree, keyword, minPrice, maxPrice) queries
+ * over the synthetic benchmark tree, interleaved with edit batches that
+ * move categories, remove cities, add priced cities and rewrite booking
+ * lists in every price format the parser accepts ("Rs. 1,234.50",
+ * "INR 25,000", "free"...). Every answer is checked twice:
+ * - against a brute-force TreeWalker walk of the subtree that parses
+ * every price and matches every keyword on the spot;
+ * - against a fresh new DekhoBharatDSA(copy), result for result, so the
+ * cheapest-first order must survive the edits too.
+ * Exits with status 1 on the first mismatch.
+ *
+ * Compile together with the engine:
+ * javac DekhoBharatDSA.java DekhoBharatBenchmark.java BookingCatalogHarness.java
+ * java BookingCatalogHarness [batches] [queriesPerBatch] [seed]
+ */
+
+public class BookingCatalogHarness {
+
+    private static final String[] KEYWORDS = { null, "", "scuba", "scuba diving", "type:adventure", "adventure",
+            "activity:walk", "ACTIVITY:Scuba", "boat ride", "type:", "nothing", "leisure boat" };
+    private static final String[] PRICES = { "\u20B9%,d", "Rs. %d", "INR %,d", "%d.50", "approx %d only" };
+
+    private static int nextId;
+
+    private static void check(boolean ok, int batch, String what) {
+        if (!ok) {
+            System.err.println("MISMATCH after batch " + batch + ": " + what);
+            System.exit(1);
+        }
+    }
+
+    private static Set<String> words(String text) {
+        Set<String> words = new HashSet<>();
+        for (String w : text.toLowerCase().split("[^\\p{L}\\p{N}]+"))
+            if (!w.isEmpty())
+                words.add(w);
+        return words;
+    }
+
+    // Keyword rules of BookingCatalog.find, checked directly on one option
+    private static boolean matches(String keyword, BookingOption b) {
+        if (keyword == null || keyword.isBlank())
+            return true;
+        String key = keyword.trim().toLowerCase();
+        String type = b.type == null ? "" : b.type.trim().toLowerCase();
+        Set<String> activity = b.activity == null ? Set.of() : words(b.activity);
+        int colon = key.indexOf(':');
+        if (colon >= 0) {
+            String field = key.substring(0, colon), value = key.substring(colon + 1);
+            if (field.equals("type"))
+                return !type.isEmpty() && type.equals(value);
+            return field.equals("activity") && activity.contains(value);
+        }
+        if (key.equals(type) || activity.contains(key))
+            return true;
+        Set<String> needed = words(key);
+        if (needed.isEmpty())
+            return false;
+        for (String w : needed)
+            if (!activity.contains(w) && !w.equals(type))
+                return false;
+        return true;
+    }
+
+    private static List<String> bruteForce(TravelNode subtree, String keyword, long lo, long hi) {
+        List<String> expected = new ArrayList<>();
+        TreeWalker.walk(subtree, (n, depth) -> {
+            if (n.city != null && n.details != null)
+                for (BookingOption b : n.details.bookingOptions) {
+                    long price = BookingCatalog.parsePrice(b.price);
+                    if (price >= lo && price <= hi && matches(keyword, b))
+                        expected.add(n.id + "|" + b.activity + "|" + price);
+                }
+            return TraversalControl.CONTINUE;
+        });
+        Collections.sort(expected);
+        return expected;
+    }
+
+    private static List<String> keys(List<BookingMatch> matches) {
+        List<String> keys = new ArrayList<>(matches.size());
+        for (BookingMatch m : matches)
+            keys.add(m.city.id + "|" + m.option.activity + "|" + m.price);
+        return keys;
+    }
+
+    private static BookingOption randomOption(Random rnd) {
+        String format = PRICES[rnd.nextInt(PRICES.length)];
+        String price = rnd.nextInt(20) == 0 ? "free" : String.format(format, 500 + 100 * rnd.nextInt(200));
+        return new BookingOption(
+                DekhoBharatBenchmark.ACTIVITIES[rnd.nextInt(DekhoBharatBenchmark.ACTIVITIES.length)], price,
+                DekhoBharatBenchmark.BOOKING_TYPES[rnd.nextInt(DekhoBharatBenchmark.BOOKING_TYPES.length)]);
+    }
+
+    private static void randomEdit(TreeEditor editor, List<String> cities, List<String> categories, Random rnd) {
+        String category = categories.get(rnd.nextInt(categories.size()));
+        String city = cities.get(rnd.nextInt(cities.size()));
+        switch (rnd.nextInt(4)) {
+        case 0: { // Move a category subtree unless that would create a cycle
+            String target = categories.get(rnd.nextInt(categories.size()));
+            for (TravelNode t = editor.get(target); t != null; t = t.parent())
+                if (t == editor.get(category))
+                    return;
+            editor.move(category, target);
+            break;
+        }
+        case 1:
+            if (editor.get(city) != null)
+                editor.remove(city);
+            break;
+        case 2: {
+            NodeDetails details = new NodeDetails("Nov-Feb", "-", "-", "-", "-", "Tropical", "15.0N", "4.0", "0.5",
+                    null);
+            for (int b = rnd.nextInt(4); b > 0; b--)
+                details = details.withBookings(randomOption(rnd));
+            editor.add(category, new TravelNode("new-" + nextId++, "Added " + nextId, "State", "Added.", details));
+            break;
+        }
+        default:
+            if (editor.get(city) != null)
+                editor.update(city, n -> {
+                    NodeDetails details = n.details.withoutBookings();
+                    for (int b = rnd.nextInt(4); b > 0; b--)
+                        details = details.withBookings(randomOption(rnd));
+                    return n.withDetails(details);
+                });
+        }
+    }
+
+    public static void main(String[] args) {
+        int batches = args.length > 0 ? Integer.parseInt(args[0]) : 40;
+        int queries = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+        Random rnd = new Random(args.length > 2 ? Long.parseLong(args[2]) : 7);
+        System.out.println("=== DEKHO BHARAT: BOOKING CATALOG vs BRUTE FORCE (" + batches + " batches x " + queries
+                + " queries) ===\n");
+
+        DekhoBharatDSA engine = new DekhoBharatDSA(DekhoBharatBenchmark.syntheticTree(3, 3, 3_000, new ArrayList<>()));
+        long checked = 0, matched = 0;
+        for (int batch = 0; batch <= batches; batch++) {
+            if (batch > 0) {
+                EngineSnapshot base = engine.snapshot();
+                List<String> cities = new ArrayList<>(base.ringIndex.keySet());
+                List<String> categories = new ArrayList<>();
+                for (TravelNode n : base.idIndex.values())
+                    if (n.city == null && n != base.root)
+                        categories.add(n.id);
+                Collections.sort(cities);
+                Collections.sort(categories);
+                engine.mutate(editor -> {
+                    for (int i = 1 + rnd.nextInt(5); i > 0; i--)
+                        randomEdit(editor, cities, categories, rnd);
+                });
+            }
+
+            EngineSnapshot s = engine.snapshot();
+            DekhoBharatDSA rebuilt = new DekhoBharatDSA(s.root.copyTree());
+            List<String> ids = new ArrayList<>(s.idIndex.keySet());
+            Collections.sort(ids);
+            for (int q = 0; q < queries; q++) {
+                String subtree = rnd.nextInt(5) == 0 ? null : ids.get(rnd.nextInt(ids.size()));
+                String keyword = KEYWORDS[rnd.nextInt(KEYWORDS.length)];
+                long lo = rnd.nextInt(10) == 0 ? 0 : rnd.nextInt(12_000);
+                long hi = rnd.nextInt(10) == 0 ? Long.MAX_VALUE : lo + rnd.nextInt(15_000);
+                String query = subtree + " '" + keyword + "' " + lo + ".." + hi;
+
+                List<String> got = keys(engine.findBookings(subtree, keyword, lo, hi));
+                check(got.equals(keys(rebuilt.findBookings(subtree, keyword, lo, hi))), batch, "rebuild " + query);
+                List<String> sorted = new ArrayList<>(got);
+                Collections.sort(sorted);
+                check(sorted.equals(bruteForce(subtree == null ? s.root : s.idIndex.get(subtree), keyword, lo, hi)),
+                        batch, "brute force " + query);
+                checked++;
+                matched += got.size();
+            }
+        }
+        System.out.println("OK: " + checked + " queries (" + matched + " matches) agreed with brute force and a "
+                + "full rebuild; " + engine.snapshot().bookings.size() + " options at the end");
+    }
+}
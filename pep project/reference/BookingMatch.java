@@ -0,0 +1,19 @@
+/**
+ * IMMUTABLE VIEW: One catalog hit, the option together with its city.
+ */
+public final class BookingMatch {
+    final TravelNode city;
+    final BookingOption option;
+    final long price; // Whole rupees, BookingCatalog.UNPRICED if unparsable
+
+    BookingMatch(TravelNode city, BookingOption option, long price) {
+        this.city = city;
+        this.option = option;
+        this.price = price;
+    }
+
+    @Override
+    public String toString() {
+        return option.activity + " @ " + city.city + " (" + option.price + ", " + option.type + ")";
+    }
+}
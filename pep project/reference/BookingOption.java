@@ -0,0 +1,9 @@
+public final class BookingOption {
+    final String activity, price, type;
+
+    public BookingOption(String a, String p, String t) {
+        this.activity = a;
+        this.price = p;
+        this.type = t;
+    }
+}
@@ -0,0 +1,177 @@
+import java.util.*;
+
+/**
+ * DATA STRUCTURE: COMPACT (ARRAY-BACKED) TRIE
+ * Same contract as Trie, but nodes live in parallel primitive arrays instead
+ * of one object + HashMap per node. Edges are primitive chars in a
+ * first-child / next-sibling chain kept sorted by character, so results come
+ * back in lexicographic order and no Character is ever boxed.
+ *
+ * MEMORY: ~14 bytes per node (char + 3 ints) vs ~150 bytes per HashMap node.
+ * - Insert: O(L * S) [S = siblings scanned per level, bounded by alphabet]
+ * - Search: O(L * S + R) [R = nodes in the matched subtree]
+ */
+class CompactTrie implements SearchIndex {
+    private static final int NONE = -1;
+
+    private char[] edgeChar = new char[16]; // Character on the edge entering node i
+    private int[] firstChild = new int[16]; // Smallest child of node i (NONE if leaf)
+    private int[] nextSibling = new int[16]; // Next larger sibling of node i
+    private int[] valueSlot = new int[16]; // Index into values (NONE if not end of word)
+    private TravelNode[] values = new TravelNode[16];
+    private int[] nextValue = new int[16]; // Next same-name city in values, by id (NONE if last)
+    private int nodeCount = 1; // Node 0 is the root
+    private int valueCount = 0;
+
+    public CompactTrie() {
+        firstChild[0] = NONE;
+        nextSibling[0] = NONE;
+        valueSlot[0] = NONE;
+    }
+
+    public void insert(TravelNode node) {
+        if (node.city == null)
+            return;
+        String key = node.city.toLowerCase();
+        int current = 0;
+        for (int i = 0; i < key.length(); i++)
+            current = childOrCreate(current, key.charAt(i));
+
+        // Same-name cities chain off the word in id order; an existing id is replaced (SearchIndex.insert)
+        int prev = NONE;
+        int v = valueSlot[current];
+        while (v != NONE && values[v].id.compareTo(node.id) < 0) {
+            prev = v;
+            v = nextValue[v];
+        }
+        if (v != NONE && values[v].id.equals(node.id)) {
+            values[v] = node;
+            return;
+        }
+        if (valueCount == values.length) {
+            values = Arrays.copyOf(values, valueCount * 2);
+            nextValue = Arrays.copyOf(nextValue, valueCount * 2);
+        }
+        int created = valueCount++;
+        values[created] = node;
+        nextValue[created] = v;
+        if (prev == NONE)
+            valueSlot[current] = created;
+        else
+            nextValue[prev] = created;
+    }
+
+    public List<TravelNode> search(String prefix) {
+        String key = prefix.toLowerCase();
+        int current = 0;
+        for (int i = 0; i < key.length(); i++) {
+            current = child(current, key.charAt(i));
+            if (current == NONE)
+                return new ArrayList<>();
+        }
+        List<TravelNode> results = new ArrayList<>();
+        collectAll(current, results);
+        return results;
+    }
+
+    public int size() {
+        return valueCount;
+    }
+
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    // Raw array access for binary serialization (see EngineImage)
+    char edgeChar(int node) {
+        return edgeChar[node];
+    }
+
+    int firstChild(int node) {
+        return firstChild[node];
+    }
+
+    int nextSibling(int node) {
+        return nextSibling[node];
+    }
+
+    TravelNode valueAt(int node) {
+        return valueSlot[node] == NONE ? null : values[valueSlot[node]];
+    }
+
+    // Cities named by this node's word, in id order (empty if not end of word)
+    List<TravelNode> valuesAt(int node) {
+        List<TravelNode> cities = new ArrayList<>(1);
+        addValues(node, cities);
+        return cities;
+    }
+
+    private void addValues(int node, List<TravelNode> results) {
+        for (int v = valueSlot[node]; v != NONE; v = nextValue[v])
+            results.add(values[v]);
+    }
+
+    private int child(int parent, char ch) {
+        for (int c = firstChild[parent]; c != NONE && edgeChar[c] <= ch; c = nextSibling[c]) {
+            if (edgeChar[c] == ch)
+                return c;
+        }
+        return NONE;
+    }
+
+    private int childOrCreate(int parent, char ch) {
+        int prev = NONE;
+        int c = firstChild[parent];
+        while (c != NONE && edgeChar[c] < ch) {
+            prev = c;
+            c = nextSibling[c];
+        }
+        if (c != NONE && edgeChar[c] == ch)
+            return c;
+
+        // Splice a new node between prev and c to keep the sibling chain sorted
+        int created = allocateNode(ch);
+        nextSibling[created] = c;
+        if (prev == NONE)
+            firstChild[parent] = created;
+        else
+            nextSibling[prev] = created;
+        return created;
+    }
+
+    private int allocateNode(char ch) {
+        if (nodeCount == edgeChar.length) {
+            int capacity = nodeCount * 2;
+            edgeChar = Arrays.copyOf(edgeChar, capacity);
+            firstChild = Arrays.copyOf(firstChild, capacity);
+            nextSibling = Arrays.copyOf(nextSibling, capacity);
+            valueSlot = Arrays.copyOf(valueSlot, capacity);
+        }
+        int id = nodeCount++;
+        edgeChar[id] = ch;
+        firstChild[id] = NONE;
+        nextSibling[id] = NONE;
+        valueSlot[id] = NONE;
+        return id;
+    }
+
+    // Pre-order walk of the subtree with an explicit int stack (no recursion)
+    private void collectAll(int start, List<TravelNode> results) {
+        addValues(start, results);
+        int[] stack = new int[32];
+        int top = 0;
+        if (firstChild[start] != NONE)
+            stack[top++] = firstChild[start];
+        while (top > 0) {
+            int node = stack[--top];
+            addValues(node, results);
+            if (top + 2 > stack.length)
+                stack = Arrays.copyOf(stack, stack.length * 2);
+            // Sibling pushed first so the child subtree is visited before it
+            if (nextSibling[node] != NONE)
+                stack[top++] = nextSibling[node];
+            if (firstChild[node] != NONE)
+                stack[top++] = firstChild[node];
+        }
+    }
+}
@@ -0,0 +1,319 @@
+import java.lang.management.*;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntToLongFunction;
+
+/**
+ * ============================================================
+ * BENCHMARK SUITE: TRIE, BREADCRUMB AND RECOMMENDATION KERNELS
+ * ============================================================
+ *
+ * Measures the complexity claims in the DekhoBharatDSA header on synthetic
+ * trees of configurable fan-out, depth and city count, plus the parallel
+ * scaling of the similarity neighbour batch job. Modelled on JMH:
+ * time-boxed warm-up and measurement iterations, a sink to defeat dead-code
+ * elimination, and a GC profile (bytes allocated per op via the thread
+ * allocation counter, plus GC count/time per iteration).
+ *
+ * Compile together with the engine:
+ * javac DekhoBharatDSA.java SearchIndexComparison.java DekhoBharatBenchmark.java
+ * java -Xmx4g DekhoBharatBenchmark [fanOut] [depth] [cityCount...]
+ * e.g. java -Xmx4g DekhoBharatBenchmark 4 3 1000 10000 100000 1000000
+ */
+
+public class DekhoBharatBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int MEASURE_ITERATIONS = 5;
+    private static final long ITERATION_MILLIS = 500;
+    private static final int OPS_WINDOW = 20_000; // Distinct inputs cycled through per benchmark
+    private static final int[] PREFIX_LENGTHS = { 1, 2, 3, 5 };
+    static final String[] ACTIVITIES = { "Scuba Diving", "River Rafting", "Jeep Safari", "Heritage Walk",
+            "Tandem Paragliding", "Spa Session", "Night Camping", "Boat Ride" };
+    static final String[] BOOKING_TYPES = { "Adventure", "Leisure", "Cultural", "Wildlife" };
+
+    private static volatile long sink; // Blackhole: every result feeds it
+
+    /**
+     * SYNTHETIC TREE: Root -> full category tree (fanOut^level per level,
+     * depth levels) -> SearchIndexComparison's synthetic cities spread
+     * round-robin over the deepest categories, each with two booking options.
+     */
+    static TravelNode syntheticTree(int fanOut, int depth, int cityCount, List<TravelNode> citiesOut) {
+        TravelNode root = new TravelNode("dekho-india", "DEKHO BHARAT", "Synthetic root.");
+        List<TravelNode> level = new ArrayList<>(List.of(root));
+        int categoryId = 0;
+        for (int d = 0; d < depth; d++) {
+            List<TravelNode> next = new ArrayList<>();
+            for (TravelNode parent : level) {
+                for (int f = 0; f < fanOut; f++) {
+                    TravelNode cat = new TravelNode("cat-" + categoryId, "Category " + categoryId, "Synthetic.");
+                    categoryId++;
+                    parent.addChild(cat);
+                    next.add(cat);
+                }
+            }
+            level = next;
+        }
+
+        // Names come from the shared generator; ratings and bookings use their own seed
+        List<TravelNode> cities = SearchIndexComparison.syntheticCities(cityCount);
+        Random rnd = new Random(43);
+        for (int i = 0; i < cityCount; i++) {
+            NodeDetails details = new NodeDetails("Nov-Feb", "-", "-", "-", "-", "Tropical", "15.0N",
+                    String.valueOf(3 + rnd.nextInt(20) / 10.0), "0.5", null);
+            for (int b = 0; b < 2; b++)
+                details = details.withBookings(new BookingOption(ACTIVITIES[rnd.nextInt(ACTIVITIES.length)],
+                        String.format("\u20B9%,d", 500 + 100 * rnd.nextInt(200)),
+                        BOOKING_TYPES[rnd.nextInt(BOOKING_TYPES.length)]));
+            TravelNode city = cities.get(i).withDetails(details).withTags("Tag" + (i % 12));
+            level.get(i % level.size()).addChild(city);
+            citiesOut.add(city);
+        }
+        return root;
+    }
+
+    /**
+     * HARNESS: Time-boxed iterations (like JMH). Calls op(i) with i cycling
+     * over [0, OPS_WINDOW) and prints ns/op, allocated bytes/op and GC
+     * activity of the measured part.
+     */
+    private static void bench(String name, IntToLongFunction op) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory
+                .getThreadMXBean();
+
+        for (int w = 0; w < WARMUP_ITERATIONS; w++)
+            runFor(op, ITERATION_MILLIS);
+
+        double[] nsPerOp = new double[MEASURE_ITERATIONS];
+        long allocated = 0, ops = 0, gcCount = 0, gcMillis = 0;
+        for (int m = 0; m < MEASURE_ITERATIONS; m++) {
+            long gcCountBefore = gcCount(), gcTimeBefore = gcTime();
+            long allocBefore = threads.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            long iterationOps = runFor(op, ITERATION_MILLIS);
+            nsPerOp[m] = (System.nanoTime() - start) / (double) iterationOps;
+            allocated += threads.getCurrentThreadAllocatedBytes() - allocBefore;
+            ops += iterationOps;
+            gcCount += gcCount() - gcCountBefore;
+            gcMillis += gcTime() - gcTimeBefore;
+        }
+
+        double mean = Arrays.stream(nsPerOp).average().orElse(0);
+        double err = Math.sqrt(Arrays.stream(nsPerOp).map(v -> (v - mean) * (v - mean)).sum() / MEASURE_ITERATIONS);
+        System.out.printf("  %-28s %12.1f +- %8.1f ns/op  %10.1f B/op  gc.count=%d gc.time=%dms%n", name, mean, err,
+                allocated / (double) ops, gcCount, gcMillis);
+    }
+
+    private static long runFor(IntToLongFunction op, long millis) {
+        long deadline = System.nanoTime() + millis * 1_000_000;
+        long ops = 0;
+        int i = 0;
+        do {
+            for (int b = 0; b < 16; b++) {
+                sink += op.applyAsLong(i);
+                i = (i + 1) % OPS_WINDOW;
+            }
+            ops += 16;
+        } while (System.nanoTime() < deadline);
+        return ops;
+    }
+
+    private static long gcCount() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans())
+            total += Math.max(0, gc.getCollectionCount());
+        return total;
+    }
+
+    private static long gcTime() {
+        long total = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans())
+            total += Math.max(0, gc.getCollectionTime());
+        return total;
+    }
+
+    private static void runSuite(int fanOut, int depth, int cityCount) {
+        List<TravelNode> cities = new ArrayList<>(cityCount);
+        TravelNode root = syntheticTree(fanOut, depth, cityCount, cities);
+        System.out.printf("%n--- cities=%,d fanOut=%d depth=%d ---%n", cityCount, fanOut, depth);
+
+        long buildStart = System.nanoTime();
+        DekhoBharatDSA engine = new DekhoBharatDSA(root);
+        System.out.printf("  %-28s %12.1f ms (full snapshot build)%n", "engine.build", (System.nanoTime()
+                - buildStart) / 1e6);
+
+        // Iterative DFS over the whole tree with a reusable visitor (expect 0 B/op)
+        long[] visited = { 0 };
+        TreeVisitor counter = (node, walk) -> {
+            visited[0]++;
+            return TraversalControl.CONTINUE;
+        };
+        bench("TreeWalker.walk(full tree)", i -> {
+            TreeWalker.walk(root, counter);
+            return visited[0];
+        });
+
+        // Trie.insert: op = one insert; a fresh Trie starts every pass over the cities
+        Trie[] trie = { new Trie() };
+        int[] cursor = { 0 };
+        bench("Trie.insert", i -> {
+            if (cursor[0] == cities.size()) {
+                cursor[0] = 0;
+                trie[0] = new Trie();
+            }
+            trie[0].insert(cities.get(cursor[0]++));
+            return i;
+        });
+
+        Random rnd = new Random(1);
+        int[] picks = new int[OPS_WINDOW];
+        for (int i = 0; i < picks.length; i++)
+            picks[i] = rnd.nextInt(cities.size());
+
+        for (int len : PREFIX_LENGTHS) {
+            String[] prefixes = new String[OPS_WINDOW];
+            for (int i = 0; i < prefixes.length; i++) {
+                String city = cities.get(picks[i]).city.toLowerCase();
+                prefixes[i] = city.substring(0, Math.min(len, city.length()));
+            }
+            // Raw kernels: straight to the snapshot's Trie, bypassing the query cache
+            Trie index = engine.snapshot().searchIndex;
+            bench("Trie.search(len=" + len + ")", i -> index.search(prefixes[i]).size());
+            bench("Trie.search(len=" + len + ",k=10)", i -> index.search(prefixes[i], 10).size());
+        }
+
+        // Skewed autocomplete traffic through the engine: 90% of calls hit 16 hot prefixes
+        String[] skewed = new String[OPS_WINDOW];
+        for (int i = 0; i < skewed.length; i++) {
+            String city = cities.get(rnd.nextDouble() < 0.9 ? picks[i % 16] : picks[i]).city.toLowerCase();
+            skewed[i] = city.substring(0, Math.min(3, city.length()));
+        }
+        bench("Trie.search(skewed)", i -> engine.snapshot().searchIndex.search(skewed[i]).size());
+        bench("engine.search(skewed,cached)", i -> engine.search(skewed[i]).size());
+        System.out.println("    " + engine.queryCache());
+
+        String[] ids = new String[OPS_WINDOW];
+        for (int i = 0; i < ids.length; i++)
+            ids[i] = cities.get(picks[i]).id;
+        bench("findDiscoveryPath", i -> engine.findDiscoveryPath(ids[i]).size());
+        bench("getRecommendations(k=2)", i -> engine.getRecommendations(ids[i]).size());
+
+        // "scuba under budget in one top-level category": subtree walk + price parsing vs the catalog
+        String category = engine.snapshot().root.children().get(0).id;
+        long[] budgets = new long[OPS_WINDOW];
+        for (int i = 0; i < budgets.length; i++)
+            budgets[i] = 1_000 + 100 * rnd.nextInt(100);
+        long[] scanned = { 0 };
+        bench("bookings(nested scan)", i -> {
+            scanned[0] = 0;
+            TreeWalker.walk(engine.findNode(category), (node, walk) -> {
+                if (node.details != null)
+                    for (BookingOption b : node.details.bookingOptions)
+                        if (b.activity.toLowerCase().contains("scuba")
+                                && BookingCatalog.parsePrice(b.price) <= budgets[i])
+                            scanned[0]++;
+                return TraversalControl.CONTINUE;
+            });
+            return scanned[0];
+        });
+        bench("findBookings(catalog)", i -> engine.findBookings(category, "scuba", 0, budgets[i]).size());
+
+        // Subtree aggregates (count / best rating) of a random category: recursive-style walk vs Euler-tour ranges
+        List<String> categories = new ArrayList<>();
+        for (String id : engine.snapshot().idIndex.keySet())
+            if (id.startsWith("cat-"))
+                categories.add(id);
+        bench("subtree stats(walk)", i -> {
+            float[] best = { 0f };
+            int[] count = { 0 };
+            TreeWalker.walk(engine.findNode(categories.get(i % categories.size())), (node, walk) -> {
+                if (node.city != null) {
+                    count[0]++;
+                    best[0] = Math.max(best[0], node.ratingValue());
+                }
+                return TraversalControl.CONTINUE;
+            });
+            return count[0] + (long) best[0];
+        });
+        bench("summarize(Euler tour)", i -> {
+            SubtreeSummary summary = engine.summarize(categories.get(i % categories.size()));
+            return summary.cityCount + (long) summary.maxRating;
+        });
+
+        // Page load: 32 autocomplete prefixes (lengths 1-4, so many nest) + 32 breadcrumb ids
+        List<List<String>> pagePrefixes = new ArrayList<>(), pageIds = new ArrayList<>();
+        for (int p = 0; p < 64; p++) {
+            List<String> ps = new ArrayList<>(), is = new ArrayList<>();
+            for (int q = 0; q < 32; q++) {
+                TravelNode city = cities.get(picks[(p * 32 + q) % picks.length]);
+                String name = city.city.toLowerCase();
+                ps.add(name.substring(0, Math.min(1 + q % 4, name.length())));
+                is.add(city.id);
+            }
+            pagePrefixes.add(ps);
+            pageIds.add(is);
+        }
+        Trie pageIndex = engine.snapshot().searchIndex;
+        bench("page(32 search+32 path)", i -> {
+            long n = 0;
+            for (String prefix : pagePrefixes.get(i & 63))
+                n += pageIndex.search(prefix).size();
+            for (String id : pageIds.get(i & 63))
+                n += engine.findDiscoveryPath(id).size();
+            return n;
+        });
+        bench("engine.batch(32+32)", i -> {
+            BatchResult batch = engine.batch(pagePrefixes.get(i & 63), pageIds.get(i & 63));
+            return batch.matches.length + batch.pathNodes.length;
+        });
+
+        // Same kernels with EngineMetrics recording (compare against the rows above)
+        engine.metrics().setEnabled(true);
+        bench("findDiscoveryPath+metrics", i -> engine.findDiscoveryPath(ids[i]).size());
+        bench("getRecommendations+metrics", i -> engine.getRecommendations(ids[i]).size());
+        engine.metrics().setEnabled(false);
+        for (String line : engine.metrics().getSummary())
+            System.out.println("    " + line);
+    }
+
+    // Fork-join neighbour batch at increasing parallelism (recompute scaling)
+    private static void runSimilarityScaling(int cityCount) {
+        List<TravelNode> cities = new ArrayList<>(cityCount);
+        DekhoBharatDSA engine = new DekhoBharatDSA(syntheticTree(4, 2, cityCount, cities));
+        EngineSnapshot snap = engine.snapshot();
+        System.out.printf("%n--- SimilarityIndex batch, cities=%,d ---%n", cityCount);
+        double serialMs = 0;
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int p = 1; p <= cores; p *= 2) {
+            ForkJoinPool pool = new ForkJoinPool(p);
+            new SimilarityIndex(snap.cityRing, snap.columns, pool); // Warm-up
+            long start = System.nanoTime();
+            new SimilarityIndex(snap.cityRing, snap.columns, pool);
+            double ms = (System.nanoTime() - start) / 1e6;
+            pool.shutdown();
+            if (p == 1)
+                serialMs = ms;
+            System.out.printf("  parallelism=%-3d %10.1f ms  speedup=%5.2fx%n", p, ms, serialMs / ms);
+        }
+    }
+
+    public static void main(String[] args) {
+        int fanOut = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int depth = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        int[] sizes = { 1_000, 10_000, 100_000 };
+        if (args.length > 2) {
+            sizes = new int[args.length - 2];
+            for (int i = 2; i < args.length; i++)
+                sizes[i - 2] = Integer.parseInt(args[i]);
+        }
+
+        System.out.println("=== DEKHO BHARAT: KERNEL BENCHMARKS ===");
+        System.out.println("warmup=" + WARMUP_ITERATIONS + " x " + ITERATION_MILLIS + " ms, measure="
+                + MEASURE_ITERATIONS + " x " + ITERATION_MILLIS + " ms");
+        for (int size : sizes)
+            runSuite(fanOut, depth, size);
+        runSimilarityScaling(Math.min(sizes[0] * 5, 20_000));
+        System.out.println("\n(sink=" + sink + ")");
+    }
+}
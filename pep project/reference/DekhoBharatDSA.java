@@ -1,4 +1,8 @@
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
 
 /**
  * ============================================================
@@ -10,289 +14,717 @@ import java.util.*;
  * 1. N-ARY TREE: Hierarchical representation of Indian destinations.
  * (Root -> Category -> Sub-Category -> City)
  * 2. TRIE: Lexicographical prefix-tree for O(L) time city lookup.
- * 3. DFS & BACKTRACKING: Path tracing for dynamic breadcrumb generation.
+ * 3. HASH INDEX + PARENT POINTERS: Precomputed breadcrumb generation.
  * 4. CIRCULAR LINKED LIST LOGIC: Suggestion engine using modulo arithmetic.
+ * 5. INVERTED INDEX: Tag/state/climate/season filters as BitSet algebra.
+ * 6. COPY-ON-WRITE SNAPSHOTS: Lock-free reads, atomically swapped updates.
+ * 7. K-D TREE: Nearest-destination (kNN / radius) queries over coordinates.
+ * 8. FORK-JOIN SIMILARITY: Precomputed top-N neighbour lists per city.
+ *
+ * LAYOUT: One source file per type (TravelNode.java, Trie.java,
+ * EngineSnapshot.java, TreeEditor.java, ...); this file is the engine
+ * facade plus the built-in knowledge base. javac finds the rest on its
+ * source path, so 'javac DekhoBharatDSA.java' builds the whole core.
  * 
  * TECHNICAL PERFORMANCE:
  * - Search City (Trie): O(L) [L = length of search query]
- * - Path Discovery (DFS): O(N) [N = total nodes in the tree]
- * - Recommendation (Circular): O(1) [post-flattening lookup]
+ * - Path Discovery (Index): O(1) lookup [O(depth) parent walk at build time]
+ * - Recommendation (Circular): O(k) [prebuilt ring + id -> position map]
+ * - Live Edit (add/remove/move/update): O(N * depth) per published batch
+ * [full snapshot rebuild; only the Trie carries over, patched O(L + depth)]
+ * - Booking Search (price range + activity + subtree): O(log B + m)
+ * - Subtree Membership / Aggregates (Euler tour): O(1) / O(log N)
+ * - Batch (P prefixes + I ids): one sorted Trie walk + one shared-ancestor path pass
  */
 
-// --- 1. DATA MODELS ---
+public class DekhoBharatDSA {
+    // Single publication point: readers do one volatile read, never lock
+    private final AtomicReference<EngineSnapshot> snapshot = new AtomicReference<>();
+    // Latency / work / result-size recorders; off unless -Ddekho.metrics=true or enabled via JMX
+    private final EngineMetrics metrics = new EngineMetrics();
+    // Hot full-subtree search answers, scoped to the snapshot version
+    private final QueryCache<String, List<TravelNode>> queryCache = new QueryCache<>(QUERY_CACHE_CAPACITY);
+    // Called on the writer thread after each publish; must only hand work off (see DekhoBharatServer)
+    private final List<Consumer<EngineSnapshot>> publishListeners = new CopyOnWriteArrayList<>();
+
+    static final int DEFAULT_RECOMMENDATIONS = 2;
+    static final int QUERY_CACHE_CAPACITY = 4096;
 
-class Guide {
-    String name, phone, email;
+    public DekhoBharatDSA() {
+        this(knowledgeBase());
+    }
 
-    public Guide(String n, String p, String e) {
-        this.name = n;
-        this.phone = p;
-        this.email = e;
+    // Engine over a caller-built tree; the engine takes ownership of it
+    public DekhoBharatDSA(TravelNode root) {
+        this(root, null);
     }
-}
 
-class BookingOption {
-    String activity, price, type;
+    // Engine over a tree whose Trie was already filled alongside it (streaming loader)
+    DekhoBharatDSA(TravelNode root, Trie searchIndex) {
+        snapshot.set(new EngineSnapshot(root, searchIndex, 1));
+    }
 
-    public BookingOption(String a, String p, String t) {
-        this.activity = a;
-        this.price = p;
-        this.type = t;
+    // TravelTreeBuilder.build()
+    DekhoBharatDSA(TravelTreeBuilder builder) {
+        this(builder.finish(), builder.searchIndex());
     }
-}
 
-class NodeDetails {
-    String bestSeason, mustTry, activities, localFood, hiddenGem, climate, coords, rating, complexityIdx;
-    Guide guide;
-    List<BookingOption> bookingOptions = new ArrayList<>();
-
-    public NodeDetails(String bs, String mt, String act, String food, String gem, String clim, String crd, String rat,
-            String comp, Guide g) {
-        this.bestSeason = bs;
-        this.mustTry = mt;
-        this.activities = act;
-        this.localFood = food;
-        this.hiddenGem = gem;
-        this.climate = clim;
-        this.coords = crd;
-        this.rating = rat;
-        this.complexityIdx = comp;
-        this.guide = g;
+    /**
+     * SHARED CORE: One engine over the built-in knowledge base per process,
+     * built on first use (holder idiom). Front ends such as DekhoIndia read
+     * through it instead of keeping their own tree, indexes and ring.
+     */
+    public static DekhoBharatDSA shared() {
+        return SharedEngine.INSTANCE;
     }
-}
 
-class TravelNode {
-    String id, label, city, state, description;
-    List<TravelNode> children = new ArrayList<>();
-    List<String> tags = new ArrayList<>();
-    NodeDetails details;
+    private static final class SharedEngine {
+        static final DekhoBharatDSA INSTANCE = new DekhoBharatDSA();
+    }
 
-    // Category Node Constructor
-    public TravelNode(String id, String label, String desc) {
-        this.id = id;
-        this.label = label;
-        this.description = desc;
+    // Entry point for assembling a custom tree (see TravelTreeBuilder)
+    public static TravelTreeBuilder builder() {
+        return new TravelTreeBuilder();
     }
 
-    // City Node Constructor
-    public TravelNode(String id, String city, String state, String desc, NodeDetails details, String... tagsArr) {
-        this.id = id;
-        this.city = city;
-        this.state = state;
-        this.description = desc;
-        this.details = details;
-        if (tagsArr != null)
-            this.tags.addAll(Arrays.asList(tagsArr));
+    /**
+     * INITIALIZATION: Hydrating the N-ary Tree with Production Data
+     * The adventures / beaches / wildlife branches of 'dekhoindia.js' (the
+     * cities DekhoIndia has always served), and the only copy of the
+     * built-in dataset. Text, guides, tags and booking options are the
+     * frontend's verbatim; the fields the indexes parse are normalized:
+     * bare ratings and complexity ("4.8/5.0" -> "4.8"), "lat N, lon E"
+     * coordinates and the first "Month-Month" best-season range.
+     */
+    private static TravelTreeBuilder knowledgeBase() {
+        TravelTreeBuilder kb = builder().category(null, "dekho-india", "DEKHO BHARAT",
+                "The definitive journey through the soul of world's most ancient civilization. From the "
+                        + "sun-kissed coasts of the Indian Ocean to the eternal snows of the Himalayas, discover a "
+                        + "land where every milestone is a masterpiece of history.");
+
+        // CATEGORY: ADVENTURES
+        kb.category("dekho-india", "adventures", "The Wild Adventures",
+                "Where the mountains touch the heavens. Explore high-altitude deserts, glacial lakes, and "
+                        + "the adrenaline-soaked valleys of the Great Himalayan range.");
+        kb.city("adventures", "rishikesh", "Rishikesh", "Uttarakhand",
+                "The Gateway to the Garhwal Himalayas. A sacred confluence of white-water adrenaline and "
+                        + "silent spiritual depth. The world's capital for both Rafting and Yoga, where the Ganges "
+                        + "flows with pristine emerald clarity.",
+                new NodeDetails("March-May",
+                        "River Rafting, Ganga Aarti at Triveni Ghat, Bungee Jumping.",
+                        "Cliff Jumping, Yoga Retreats, Ayurvedic Massage, Evening Aarti.",
+                        "Aloo Poori, Lassi, Chotiwala Special Thali.",
+                        "Neer Garh Waterfall, Beatles Ashram (Chaurasi Kutia).",
+                        "Pleasant subtropical mountain weather.", "30.0869N, 78.2676E", "4.8", "0.45",
+                        new Guide("Amit Sharma", "+91 98765 43210", "amit.rishikesh@dekhoindia.in")).withBookings(
+                        new BookingOption("River Rafting", "\u20B91,500", "Adventure"),
+                        new BookingOption("Bungee Jumping", "\u20B93,500", "Extreme"),
+                        new BookingOption("Yoga Retreat (3 days)", "\u20B95,000", "Spiritual")),
+                "Rafting", "Adventure", "Yoga");
+        kb.city("adventures", "leh", "Leh", "Ladakh",
+                "A lunar landscape on Earth. Ancient Buddhist monasteries perched on jagged cliffs, "
+                        + "high-altitude passes that challenge the bravest riders, and the mystical blue waters of "
+                        + "Pangong Tso.",
+                new NodeDetails("June-Sept",
+                        "Magnetic Hill, Khardung La Pass ride, Stargazing at Hanle.",
+                        "Mountain Biking, Monastery visits, River Rafting, Camping at Pangong.",
+                        "Thukpa, Skyu, Khambir, Apricot Jam.", "Sangam (Indus & Zanskar), Hemis Monastery.",
+                        "Cold desert climate with low oxygen.", "34.1526N, 77.5771E", "4.9", "0.88",
+                        new Guide("Tenzin Gyatso", "+91 87654 32109", "tenzin.leh@dekhoindia.in")).withBookings(
+                        new BookingOption("Motorcycle Tour (Pangong)", "\u20B912,000", "Adventure"),
+                        new BookingOption("Star Gazing Session", "\u20B92,500", "Experience"),
+                        new BookingOption("Monastery Tour", "\u20B91,800", "Cultural")),
+                "Biking", "Himalayas", "Lakes");
+        kb.city("adventures", "andaman", "Andaman", "Island",
+                "An emerald archipelago in the Bay of Bengal. Home to the world's most pristine coral "
+                        + "reefs and the echoes of India's freedom struggle at the Cellular Jail, surrounded by "
+                        + "turquoise waters.",
+                new NodeDetails("Oct-May",
+                        "Scuba Diving at Havelock, Bioluminescence at Havelock beach.",
+                        "Scuba Diving, Sea Walk, Island Hopping, Kayaking.",
+                        "Seafood Platter, Coconut Prawn Curry, Grilled Fish.",
+                        "Barren Island (Active Volcano), Limestone Caves.", "Tropical marine climate.",
+                        "11.7401N, 92.6586E", "4.7", "0.62",
+                        new Guide("Rajesh Kumar", "+91 76543 21098", "rajesh.andaman@dekhoindia.in")).withBookings(
+                        new BookingOption("Scuba Diving at Havelock", "\u20B94,500", "Adventure"),
+                        new BookingOption("Glass Bottom Boat Ride", "\u20B91,200", "Leisure"),
+                        new BookingOption("Kayaking in Mangroves", "\u20B93,000", "Nature")),
+                "Scuba", "Water Sports", "Island");
+        kb.city("adventures", "gulmarg", "Gulmarg", "J&K",
+                "The \"Meadow of Flowers\" transformed into an Alpine wonderland. Boasting one of the "
+                        + "world's highest cable cars and premier skiing slopes with deep powdery snow.",
+                new NodeDetails("Dec-March",
+                        "Gondola Ride, Heli-Skiing, Golfing in the highest course.",
+                        "Skiing, Gondola Ride, Sledging, Hiking.", "Kashmiri Wazwan, Rogan Josh, Kahwa Tea.",
+                        "Alpathar Lake, Strawberry Valley.", "Alpine, heavy snowfall in winter.", "34.0484N, 74.3805E",
+                        "4.9", "0.74",
+                        new Guide("Sajad Ahmed", "+91 65432 10987", "sajad.gulmarg@dekhoindia.in")).withBookings(
+                        new BookingOption("Guided Skiing Session", "\u20B95,500", "Extreme"),
+                        new BookingOption("Gondola Ride (Phase 2)", "\u20B91,600", "Sightseeing"),
+                        new BookingOption("Sledging Experience", "\u20B9800", "Adventure")),
+                "Skiing", "Snow", "Gondola");
+        kb.city("adventures", "bir-billing", "Bir Billing", "Himachal",
+                "The paragliding capital of Asia. Soar above the Dhauladhar range and find serenity in the "
+                        + "silent bells of Tibetan monasteries and eco-friendly cafes.",
+                new NodeDetails("Sept-Nov",
+                        "Tandem Paragliding, Trekking to Rajgundha, Monastery hopping.",
+                        "Paragliding, Trekking, Mountain Biking, Cafe Hopping.", "Thukpa, Momos, Siddu, Local Honey.",
+                        "Bangoru Waterfall, Deer Park Institute.", "Mild mountain climate.", "32.0531N, 76.7111E",
+                        "4.8", "0.66",
+                        new Guide("Vikas Negi", "+91 54321 09876", "vikas.bir@dekhoindia.in")).withBookings(
+                        new BookingOption("Tandem Paragliding", "\u20B93,000", "Adventure"),
+                        new BookingOption("Mountain Biking", "\u20B91,500", "Stamina"),
+                        new BookingOption("Monastery Walk", "\u20B9500", "Cultural")),
+                "Paragliding", "Sky", "Tibetan");
+
+        // CATEGORY: COASTAL (BEACHES)
+        kb.category("dekho-india", "beaches", "Coastal Horizons",
+                "Over 7,000 kilometers of tropical bliss. From Portuguese heritage to azure backwaters, "
+                        + "surrender to the eternal rhythm of the waves.");
+        kb.city("beaches", "goa", "Goa", "Goa",
+                "A kaleidoscope of cultures. Golden sands, baroque architecture, and a culinary heritage "
+                        + "that blends Indian spices with European elegance. A blend of hippie vibe and luxury.",
+                new NodeDetails("Nov-Feb",
+                        "Old Goa Church tour, Scuba at Grande Island, Beach Shacks.",
+                        "Water Sports, Casino Cruise, Heritage Walk, Night Markets.",
+                        "Bebinca, Fish Recheado, Feni, Pork Vindaloo.", "Chorao Island, Netravali Bubbling Lake.",
+                        "Hot and Humid.", "15.2993N, 74.1240E", "4.6", "0.22",
+                        new Guide("Joao Rodrigues", "+91 43210 98765", "joao.goa@dekhoindia.in")).withBookings(
+                        new BookingOption("Island Hopping Tour", "\u20B92,500", "Leisure"),
+                        new BookingOption("Scuba at Grande Island", "\u20B94,000", "Adventure"),
+                        new BookingOption("Heritage Portuguese Walk", "\u20B9900", "Cultural")),
+                "Beach", "Nightlife", "Seafood");
+        kb.city("beaches", "varkala", "Varkala", "Kerala",
+                "Where red sandstone cliffs bleed into the Arabian Sea. A unique coastal sanctuary that "
+                        + "offers both therapeutic springs and sunset serenity on the cliff-side cafes.",
+                new NodeDetails("Oct-March",
+                        "Cliff-side Dining, Ayurvedic Massages, Surfing.",
+                        "Surfing, Yoga, Cliff Walking, Cultural Shows.",
+                        "Kerala Sadhya, Banana Fritters, Seafood Thali.", "Edava Beach, Kappil Lake.",
+                        "Maritime tropical.", "8.7379N, 76.7163E", "4.8", "0.35",
+                        new Guide("Rahul Nair", "+91 32109 87654", "rahul.varkala@dekhoindia.in")).withBookings(
+                        new BookingOption("Cliff-side Group Dinner", "\u20B91,200", "Leisure"),
+                        new BookingOption("Beginner Surfing Lesson", "\u20B92,500", "Adventure"),
+                        new BookingOption("Ayurvedic Spa Session", "\u20B93,000", "Wellness")),
+                "Cliff", "Quiet", "Temple");
+        kb.city("beaches", "gokarna", "Gokarna", "Karnataka",
+                "The untamed coast. A sacred temple town surrounded by rugged trekking paths and secluded "
+                        + "half-moon beaches that remain untouched by mass tourism.",
+                new NodeDetails("Oct-March",
+                        "Beach Trek (5-beach trek), Mahabaleshwar Temple, Om Beach.",
+                        "Beach Trekking, Temple visits, Meditation, Surfing.",
+                        "Toddy, Seafood, Local South Indian Meals.", "Paradise Beach (Hidden trek), Nirvana Beach.",
+                        "Warm and humid.", "14.5479N, 74.3188E", "4.7", "0.55",
+                        new Guide("Manjunath Hegde", "+91 21098 76543", "manju.gokarna@dekhoindia.in")).withBookings(
+                        new BookingOption("5-Beach Trek (Guided)", "\u20B91,800", "Hiking"),
+                        new BookingOption("Night Beach Camping", "\u20B92,200", "Adventure"),
+                        new BookingOption("Temple Culture Tour", "\u20B91,000", "Cultural")),
+                "Trekking", "Sunset", "Beaches");
+        kb.city("beaches", "havelock", "Havelock", "Andamans",
+                "Asia's crowning coastal jewel. Radhanagar Beach offers a rare blend of dense tropical "
+                        + "forests meeting crystal-clear turquoise horizons and white sand.",
+                new NodeDetails("Nov-May",
+                        "Snorkeling at Elephant Beach, Scuba diving, Sunset at Radhanagar.",
+                        "Snorkeling, Scuba, Jungle Trekking, Kayaking in Mangroves.",
+                        "Grilled Seafood, Coconut water, Tropical Fruits.", "Neil Island, Sitapur Beach (Sunrise).",
+                        "Tropical.", "12.0343N, 92.9818E", "4.9", "0.68",
+                        new Guide("Priya Das", "+91 10987 65432", "priya.havelock@dekhoindia.in")).withBookings(
+                        new BookingOption("Snorkeling at Elephant Beach", "\u20B91,200", "Water"),
+                        new BookingOption("Scuba Diving (Beginner)", "\u20B94,500", "Adventure"),
+                        new BookingOption("Private Boat Charter", "\u20B98,000", "Luxury")),
+                "Pristine", "Blue Water", "Asian Best");
+
+        // CATEGORY: WILDLIFE
+        kb.category("dekho-india", "wildlife", "The Living Jungle",
+                "Step into the realm of the Royal Bengal Tiger and the One-Horned Rhino. Witness the "
+                        + "untamed majesty of India's pristine national parks.");
+        kb.city("wildlife", "jim-corbett", "Jim Corbett", "Uttarakhand",
+                "The birthplace of tiger conservation in India. A dense forest landscape where the tiger "
+                        + "rules the shadows and the landscape changes from grasslands to deep river beds.",
+                new NodeDetails("Nov-June",
+                        "Jeep Safari at Dhikala, Elephant Safari, River Kosi trekking.",
+                        "Jeep Safari, Elephant Riding, Bird Watching, Nature Photography.",
+                        "Kumaoni Raita, Bhatt ki Churkani, Bal Mithai.", "Sitabani Buffer Zone, Corbett Falls.",
+                        "Subtropical monsoon.", "29.5300N, 78.7747E", "4.5", "0.65",
+                        new Guide("Ravi Corbett", "+91 33442 21100", "ravi.jim@dekhoindia.in")).withBookings(
+                        new BookingOption("Premium Jeep Safari", "\u20B94,500", "Wildlife"),
+                        new BookingOption("Elephant Back Expedition", "\u20B93,500", "Adventure"),
+                        new BookingOption("Luxury Forest Stay", "\u20B98,500", "Group Tour")),
+                "Tiger", "Jungle", "Safari");
+        kb.city("wildlife", "kaziranga", "Kaziranga", "Assam",
+                "A swampy paradise for the prehistoric rhinoceros. Explore the tall elephant grass of the "
+                        + "Brahmaputra floodplains, home to two-thirds of the world's rhino population.",
+                new NodeDetails("Nov-April",
+                        "Elephant Safari, Bird watching, Orchid Park.",
+                        "Elephant Safari, Jeep Safari, Bird Watching, River Cruise.",
+                        "Assamese Fish Curry, Masor Tenga, Bamboo Shoot Fry.",
+                        "Hoollongapar Gibbon Sanctuary, Majuli Island (Nearby).", "Tropical monsoonal.",
+                        "26.5775N, 93.1711E", "4.9", "0.72",
+                        new Guide("Gogoi Assam", "+91 22331 10099", "gogoi.kaziranga@dekhoindia.in")).withBookings(
+                        new BookingOption("Elephant Rhino Safari", "\u20B93,500", "Wildlife"),
+                        new BookingOption("Jeep Safari (Central Zone)", "\u20B94,000", "Adventure")),
+                "Rhino", "Swamps", "Unesco World Heritage");
+        return kb;
     }
 
-    public void addChild(TravelNode child) {
-        this.children.add(child);
+    /**
+     * CONCURRENCY: COPY-ON-WRITE BATCH UPDATE
+     * The batch reshapes the working copy of a TreeEditor (addChild on any
+     * node) via TreeEditor.rewrite(); afterwards the indexes are
+     * rebuilt and the new snapshot is swapped in atomically. Writers are
+     * serialized, readers keep using whichever snapshot they already hold.
+     */
+    public void update(Consumer<TravelNode> batch) {
+        mutate(editor -> editor.rewrite(batch));
     }
-}
 
-// --- 2. TRIE DATA STRUCTURE (Search Index Intelligence) ---
+    /**
+     * CONCURRENCY: EDIT BATCH
+     * The one write path: edits go through a TreeEditor that patches the
+     * carried-over Trie per edit instead of re-inserting every city. One
+     * snapshot is published per batch, and publishing is a full O(N * depth)
+     * snapshot rebuild (see TreeEditor), so batch edits rather than calling
+     * the single-edit conveniences in a loop. A batch that throws publishes
+     * nothing.
+     */
+    public synchronized void mutate(Consumer<TreeEditor> batch) {
+        EngineSnapshot base = snapshot.get();
+        TreeEditor editor = new TreeEditor(base);
+        batch.accept(editor);
+        publish(base, editor.publish(base.version + 1));
+    }
 
-class TrieNode {
-    Map<Character, TrieNode> children = new HashMap<>();
-    boolean isEndOfWord = false;
-    TravelNode nodeData = null;
-}
+    private void publish(EngineSnapshot base, EngineSnapshot next) {
+        next.followSimilarity(base, () -> snapshot.get().version > next.version);
+        snapshot.set(next);
+        for (Consumer<EngineSnapshot> listener : publishListeners)
+            listener.accept(next);
+    }
 
-class Trie {
-    TrieNode root = new TrieNode();
+    // Derived per-snapshot state (e.g. serialized JSON) is built from these, off the read path
+    void addPublishListener(Consumer<EngineSnapshot> listener) {
+        publishListeners.add(listener);
+    }
 
-    public void insert(TravelNode node) {
-        if (node.city == null)
-            return;
-        TrieNode current = root;
-        for (char ch : node.city.toLowerCase().toCharArray()) {
-            current.children.putIfAbsent(ch, new TrieNode());
-            current = current.children.get(ch);
-        }
-        current.isEndOfWord = true;
-        current.nodeData = node;
+    void removePublishListener(Consumer<EngineSnapshot> listener) {
+        publishListeners.remove(listener);
     }
 
-    public List<TravelNode> search(String prefix) {
-        TrieNode current = root;
-        for (char ch : prefix.toLowerCase().toCharArray()) {
-            if (!current.children.containsKey(ch))
-                return new ArrayList<>();
-            current = current.children.get(ch);
-        }
-        List<TravelNode> results = new ArrayList<>();
-        collectAll(current, results);
-        return results;
+    // Single-edit conveniences (one published snapshot each; batch via mutate)
+    public void addDestination(String parentId, TravelNode node) {
+        mutate(editor -> editor.add(parentId, node));
     }
 
-    private void collectAll(TrieNode node, List<TravelNode> results) {
-        if (node.isEndOfWord)
-            results.add(node.nodeData);
-        for (TrieNode child : node.children.values()) {
-            collectAll(child, results);
-        }
+    public void removeDestination(String id) {
+        mutate(editor -> editor.remove(id));
     }
-}
 
-// --- 3. THE INTEGRATED DSA ENGINE ---
+    public void moveDestination(String id, String newParentId) {
+        mutate(editor -> editor.move(id, newParentId));
+    }
 
-public class DekhoBharatDSA {
-    private TravelNode treeData;
-    private Trie searchIndex = new Trie();
+    public void updateDestination(String id, UnaryOperator<TravelNode> edit) {
+        mutate(editor -> editor.update(id, edit));
+    }
 
-    public DekhoBharatDSA() {
-        initializeFullKnowledgeBase();
+    // Incremented on every published update
+    public long version() {
+        return snapshot.get().version;
+    }
+
+    EngineSnapshot snapshot() {
+        return snapshot.get();
+    }
+
+    public EngineMetrics metrics() {
+        return metrics;
+    }
+
+    // Hit rate, evictions and admission rejections of the search cache
+    public QueryCache<String, List<TravelNode>> queryCache() {
+        return queryCache;
     }
 
     /**
-     * INITIALIZATION: Hydrating the N-ary Tree with Production Data
-     * This mirrors the exact hierarchy of 'dekhoindia.js'.
+     * ALGORITHM: TRIE PREFIX SEARCH (exact, top-k and fuzzy variants)
+     * Full-subtree answers (exact search, top-k beyond the Trie's per-node
+     * TOP_K_CACHE) go through the query cache, so a hot prefix is O(1)
+     * instead of O(subtree). Cached lists are shared, hence read-only.
      */
-    private void initializeFullKnowledgeBase() {
-        treeData = new TravelNode("dekho-india", "DEKHO BHARAT", "The definitive Indian journey.");
+    public List<TravelNode> search(String prefix) {
+        return search(snapshot.get(), prefix);
+    }
 
-        // CATEGORY: ADVENTURES
-        TravelNode adventures = new TravelNode("adventures", "The Wild Adventures", "High-altitude peaks.");
-        adventures.addChild(new TravelNode("rishikesh", "Rishikesh", "Uttarakhand", "White water rafting.",
-                new NodeDetails("Mar-May", "Rafting", "Yoga", "Lassi", "Beatles", "Subtropical", "30.0N", "4.8", "0.45",
-                        new Guide("Amit", "987", "amit@r.in")),
-                "Adventure", "Ganga"));
-        adventures.addChild(new TravelNode("leh", "Leh", "Ladakh", "Moon land.",
-                new NodeDetails("Jun-Sep", "Biking", "Monastery", "Thukpa", "Magnetic Hill", "Arid", "34.1N", "4.9",
-                        "0.88", new Guide("Tenzin", "876", "ten@l.in")),
-                "Biking", "Lakes"));
-        adventures.addChild(new TravelNode("gulmarg", "Gulmarg", "J&K", "Skiing slopes.",
-                new NodeDetails("Dec-Mar", "Gondola", "Skiing", "Kahwa", "Alpathar", "Alpine", "34.0N", "4.9", "0.74",
-                        new Guide("Sajad", "654", "saj@g.in")),
-                "Snow", "Skiing"));
+    // Same, pinned to one snapshot (the server answers from the snapshot its JSON was built for)
+    List<TravelNode> search(EngineSnapshot s, String prefix) {
+        long start = metrics.start();
+        int[] visited = new int[1]; // Stays 0 on a cache hit
+        List<TravelNode> results = queryCache.get("s:" + prefix.toLowerCase(), s.version,
+                key -> Collections.unmodifiableList(s.searchIndex.search(prefix, visited)));
+        metrics.stop(EngineMetrics.Operation.SEARCH, start, visited[0], results.size());
+        return results;
+    }
 
-        // CATEGORY: COASTAL (BEACHES)
-        TravelNode beaches = new TravelNode("beaches", "Coastal Horizons", "Sun soaked shacks.");
-        beaches.addChild(new TravelNode("goa", "Goa", "Goa", "Portuguese vibes.",
-                new NodeDetails("Nov-Feb", "Old Goa", "Watersports", "Bebinca", "Chorao", "Humid", "15.2N", "4.6",
-                        "0.22", new Guide("Joao", "432", "joao@g.in")),
-                "Beach", "Party"));
-        beaches.addChild(new TravelNode("varkala", "Varkala", "Kerala", "Cliff sunsets.",
-                new NodeDetails("Oct-Mar", "Surf", "Cliff", "Sadhya", "Beach", "Tropical", "8.7N", "4.8", "0.35",
-                        new Guide("Rahul", "321", "rah@v.in")),
-                "Cliff", "Sunset"));
-        beaches.addChild(new TravelNode("havelock", "Havelock", "Andamans", "Crystal waters.",
-                new NodeDetails("Nov-May", "Scuba", "Snorkel", "Fish", "Neil", "Tropical", "12.0N", "4.9", "0.68",
-                        new Guide("Priya", "109", "priya@h.in")),
-                "Island", "Pristine"));
+    public List<TravelNode> search(String prefix, int k) {
+        long start = metrics.start();
+        EngineSnapshot s = snapshot.get();
+        int[] visited = new int[1];
+        List<TravelNode> results = k <= Trie.TOP_K_CACHE ? s.searchIndex.search(prefix, k, visited)
+                : queryCache.get("k" + k + ":" + prefix.toLowerCase(), s.version,
+                        key -> Collections.unmodifiableList(s.searchIndex.search(prefix, k, visited)));
+        metrics.stop(EngineMetrics.Operation.SEARCH_TOP_K, start, visited[0], results.size());
+        return results;
+    }
 
-        // CATEGORY: WILDLIFE
-        TravelNode wildlife = new TravelNode("wildlife", "The Living Jungle", "Tigers and Safaris.");
-        wildlife.addChild(new TravelNode("jim-corbett", "Jim Corbett", "Uttarakhand", "Tiger sanctuary.",
-                new NodeDetails("Nov-Jun", "Safari", "Tiger", "Raita", "Falls", "Monsoon", "29.5N", "4.5", "0.65",
-                        new Guide("Ravi", "334", "ravi@j.in")),
-                "Tiger", "Safari"));
-        wildlife.addChild(new TravelNode("kaziranga", "Kaziranga", "Assam", "Rhino land.",
-                new NodeDetails("Nov-Apr", "Elephant Safari", "Rhino", "Fish curry", "Orchid", "Swamp", "26.5N", "4.9",
-                        "0.72", new Guide("Gogoi", "223", "go@a.in")),
-                "Rhino", "Assam"));
+    public List<TravelNode> fuzzySearch(String query, int maxDistance) {
+        long start = metrics.start();
+        int[] visited = new int[1];
+        List<TravelNode> results = snapshot.get().searchIndex.fuzzySearch(query, maxDistance, visited);
+        metrics.stop(EngineMetrics.Operation.FUZZY_SEARCH, start, visited[0], results.size());
+        return results;
+    }
 
-        // Inject current branches into root
-        treeData.addChild(adventures);
-        treeData.addChild(beaches);
-        treeData.addChild(wildlife);
+    /**
+     * ALGORITHM: BREADCRUMB LOOKUP (replaces per-call DFS with BACKTRACKING)
+     * Purpose: Returns the "Discovery Path" root -> targetID.
+     * O(1) hash lookup of the precomputed, immutable path; null if unknown.
+     * Deliberately not behind the query cache: the breadcrumb map already is
+     * a per-version cache holding every path.
+     */
+    public List<TravelNode> findDiscoveryPath(String targetId) {
+        long start = metrics.start();
+        List<TravelNode> path = snapshot.get().breadcrumbs.get(targetId);
+        metrics.stop(EngineMetrics.Operation.DISCOVERY_PATH, start, 0, path == null ? 0 : path.size());
+        return path;
+    }
 
-        // SYNC: Build the Trie Search Index from the tree
-        synchronizeSearchIndex(treeData);
+    public TravelNode findNode(String id) {
+        return snapshot.get().idIndex.get(id);
     }
 
-    private void synchronizeSearchIndex(TravelNode node) {
-        if (node.city != null)
-            searchIndex.insert(node);
-        for (TravelNode child : node.children)
-            synchronizeSearchIndex(child);
+    /**
+     * ALGORITHM: BATCH QUERY (dashboard page loads, bulk exports)
+     * Every prefix and id of a page load answered from one snapshot in one
+     * call: the prefixes share a single sorted Trie walk, the paths are
+     * resolved in one pass with shared ancestors stored once, and the
+     * answer comes back as flat arrays (see BatchResult). Bypasses the
+     * query cache: the shared walk is the batch path's own reuse.
+     */
+    public BatchResult batch(List<String> prefixes, List<String> ids) {
+        long start = metrics.start();
+        BatchResult result = new BatchResult(snapshot.get(), prefixes, ids);
+        metrics.stop(EngineMetrics.Operation.BATCH, start, result.nodesVisited,
+                result.matches.length + result.pathNodes.length);
+        return result;
     }
 
     /**
-     * ALGORITHM: DEPTH FIRST SEARCH (DFS) with BACKTRACKING
-     * Purpose: Locates targetID and reconstructs the "Discovery Path".
+     * ALGORITHM: EULER-TOUR SUBTREE QUERIES
+     * Pre-order [enter, exit) intervals answer "is Varkala under Beaches?"
+     * with two int compares, and a category's cities are one contiguous
+     * slice of the ring, so none of these walk TravelNode.children.
      */
-    public List<TravelNode> findDiscoveryPath(String targetId) {
-        List<TravelNode> path = new ArrayList<>();
-        if (dfsRecursive(treeData, targetId, path))
-            return path;
-        return null;
+    public boolean isUnder(String ancestorId, String id) {
+        return snapshot.get().intervals.contains(ancestorId, id);
     }
 
-    private boolean dfsRecursive(TravelNode current, String targetId, List<TravelNode> path) {
-        path.add(current);
-        if (current.id.equals(targetId))
-            return true; // SUCCESS CASE
+    // O(1): read-only view of the cities under id in ring order; empty if unknown
+    public List<TravelNode> citiesUnder(String id) {
+        EngineSnapshot s = snapshot.get();
+        int enter = s.intervals.enter(id);
+        if (enter < 0)
+            return Collections.emptyList();
+        return s.cityRing.subList(s.intervals.ringStart(enter), s.intervals.ringEnd(enter));
+    }
 
-        for (TravelNode child : current.children) {
-            if (dfsRecursive(child, targetId, path))
-                return true;
+    // O(log N): city count, best rating and average complexity under id; null if unknown
+    public SubtreeSummary summarize(String id) {
+        long start = metrics.start();
+        EngineSnapshot s = snapshot.get();
+        int enter = s.intervals.enter(id);
+        if (enter < 0) {
+            metrics.stop(EngineMetrics.Operation.SUBTREE, start, 0, 0);
+            return null;
         }
-
-        path.remove(path.size() - 1); // BACKTRACKING: Pop from stack if branch fails
-        return false;
+        int from = s.intervals.ringStart(enter), to = s.intervals.ringEnd(enter);
+        int count = to - from;
+        int[] visited = new int[1];
+        SubtreeSummary summary = new SubtreeSummary(s.idIndex.get(id), count,
+                s.aggregates.maxRating(from, to, visited),
+                count == 0 ? 0 : s.aggregates.complexitySum(from, to, visited) / count);
+        metrics.stop(EngineMetrics.Operation.SUBTREE, start, visited[0], 1);
+        return summary;
     }
 
     /**
      * ALGORITHM: CIRCULAR RECOMMENDATION KERNEL
      * Logic: Treating all cities as a continuous circular chain using Modulo
-     * arithmetic.
+     * arithmetic. O(1) position lookup + O(k) walk over the prebuilt ring.
+     * Not cached: the walk is cheaper than a cache probe.
      */
     public List<TravelNode> getRecommendations(String currentId) {
-        List<TravelNode> allCities = new ArrayList<>();
-        flattenTree(treeData, allCities); // Turn tree into linear city list
-
-        int currentIndex = -1;
-        for (int i = 0; i < allCities.size(); i++) {
-            if (allCities.get(i).id.equals(currentId)) {
-                currentIndex = i;
-                break;
-            }
-        }
+        return getRecommendations(currentId, DEFAULT_RECOMMENDATIONS);
+    }
 
-        if (currentIndex == -1)
+    public List<TravelNode> getRecommendations(String currentId, int k) {
+        long start = metrics.start();
+        EngineSnapshot s = snapshot.get();
+        Integer currentIndex = s.ringIndex.get(currentId);
+        if (currentIndex == null || k <= 0) {
+            metrics.stop(EngineMetrics.Operation.RECOMMENDATIONS, start, 0, 0);
             return new ArrayList<>();
+        }
 
-        List<TravelNode> suggestions = new ArrayList<>();
-        // Suggest the next 2 cities in circular order
-        for (int i = 1; i <= 2; i++) {
-            int nextIdx = (currentIndex + i) % allCities.size();
-            suggestions.add(allCities.get(nextIdx));
+        // Never wrap around onto the current city itself
+        List<TravelNode> ring = s.cityRing;
+        int count = Math.min(k, ring.size() - 1);
+        List<TravelNode> suggestions = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            int nextIdx = (currentIndex + i) % ring.size();
+            suggestions.add(ring.get(nextIdx));
         }
+        metrics.stop(EngineMetrics.Operation.RECOMMENDATIONS, start, count, count);
         return suggestions;
     }
 
-    private void flattenTree(TravelNode node, List<TravelNode> list) {
-        if (node.city != null)
-            list.add(node);
-        for (TravelNode child : node.children)
-            flattenTree(child, list);
+    public List<TravelNode> getRecommendations(String currentId, int k, RecommendationSource source) {
+        if (source == RecommendationSource.NEARBY)
+            return findNearby(currentId, k, Double.POSITIVE_INFINITY);
+        if (source == RecommendationSource.SIMILAR)
+            return getSimilarRecommendations(currentId, k);
+        return getRecommendations(currentId, k);
     }
 
-    public static void main(String[] args) {
-        DekhoBharatDSA engine = new DekhoBharatDSA();
+    /**
+     * ALGORITHM: SIMILARITY RECOMMENDATIONS
+     * Array lookup into precomputed neighbour lists. The fork-join batch
+     * runs once per snapshot on its own pool: on first use, then in the
+     * background after a publish (debounced, and cancelled once a newer
+     * version is published). While it runs, answers come from the previous
+     * ready index, mapped onto this snapshot (cities removed since are skipped).
+     * Only the very first build, or a city that index has never seen,
+     * waits for the batch. At most SimilarityIndex.TOP_N results.
+     */
+    public List<TravelNode> getSimilarRecommendations(String currentId, int k) {
+        long start = metrics.start();
+        EngineSnapshot s = snapshot.get();
+        Integer ordinal = s.ringIndex.get(currentId);
+        if (ordinal == null || k <= 0) {
+            metrics.stop(EngineMetrics.Operation.SIMILAR, start, 0, 0);
+            return new ArrayList<>();
+        }
+        EngineSnapshot source = s;
+        SimilarityIndex index = s.similarityIfReady();
+        if (index == null) {
+            EngineSnapshot fallback = s.similarityFallback();
+            Integer previousOrdinal = fallback == null ? null : fallback.ringIndex.get(currentId);
+            if (previousOrdinal != null) {
+                source = fallback;
+                ordinal = previousOrdinal;
+                index = fallback.similarity(); // Ready: fallbacks only point at built indexes
+            } else {
+                index = s.similarity();
+            }
+        }
+        int[] similar = index.neighbours(ordinal, k);
+        List<TravelNode> results = new ArrayList<>(similar.length);
+        for (int o : similar) {
+            TravelNode n = source.cityRing.get(o);
+            if (source != s && ((n = s.idIndex.get(n.id)) == null || n.city == null))
+                continue; // Gone from (or no longer a city in) the current snapshot
+            results.add(n);
+        }
+        metrics.stop(EngineMetrics.Operation.SIMILAR, start, similar.length, results.size());
+        return results;
+    }
+
+    // Waits for the current snapshot's neighbour batch (starting it if needed)
+    public void recomputeSimilarity() {
+        snapshot.get().similarity();
+    }
+
+    /**
+     * ALGORITHM: K-NEAREST DESTINATIONS (k-d tree)
+     * e.g. findNearby("leh", 5, 300) = 5 closest cities within 300 km of Leh,
+     * closest first. Empty if the city is unknown or has no coordinates.
+     * k is clamped to cityCount - 1 (every other city at most).
+     */
+    public List<TravelNode> findNearby(String id, int k, double radiusKm) {
+        long start = metrics.start();
+        EngineSnapshot s = snapshot.get();
+        Integer ordinal = s.ringIndex.get(id);
+        k = Math.min(k, s.cityRing.size() - 1);
+        if (ordinal == null || k <= 0) {
+            metrics.stop(EngineMetrics.Operation.NEARBY, start, 0, 0);
+            return new ArrayList<>();
+        }
+        int[] visited = new int[1];
+        int[] nearest = s.geoIndex.nearest(ordinal, k, radiusKm, visited);
+        List<TravelNode> results = new ArrayList<>(nearest.length);
+        for (int o : nearest)
+            results.add(s.cityRing.get(o));
+        metrics.stop(EngineMetrics.Operation.NEARBY, start, visited[0], nearest.length);
+        return results;
+    }
+
+    /**
+     * ALGORITHM: BOOLEAN ATTRIBUTE FILTER
+     * e.g. "Tropical AND Island AND season:nov" or "tag:safari OR NOT state:goa".
+     * BitSet intersections instead of flattening and scanning the tree.
+     */
+    public List<TravelNode> filterCities(String query) {
+        long start = metrics.start();
+        EngineSnapshot s = snapshot.get();
+        int[] visited = new int[1];
+        BitSet hits = s.attributeIndex.query(query, visited);
+        List<TravelNode> results = new ArrayList<>(hits.cardinality());
+        for (int i = hits.nextSetBit(0); i >= 0; i = hits.nextSetBit(i + 1))
+            results.add(s.cityRing.get(i));
+        metrics.stop(EngineMetrics.Operation.FILTER, start, visited[0], results.size());
+        return results;
+    }
+
+    /**
+     * ALGORITHM: COLUMNAR RANK + FILTER
+     * Best-rated cities that are open in the given month (e.g. "Nov", or null
+     * for any) and no harder than maxComplexity. Runs over primitive columns.
+     * An unrecognised month fails instead of silently matching every month.
+     */
+    public List<TravelNode> findCities(float minRating, float maxComplexity, String month, int k) {
+        int m = month == null ? -1 : SeasonMonths.month(month);
+        if (month != null && m < 0)
+            throw new IllegalArgumentException("Unknown month '" + month + "'");
+        long start = metrics.start();
+        EngineSnapshot s = snapshot.get();
+        BitSet candidates = s.columns.filter(minRating, maxComplexity, m < 0 ? 0 : 1 << m);
+        List<TravelNode> results = new ArrayList<>();
+        for (int ordinal : s.columns.topRated(k, candidates))
+            results.add(s.cityRing.get(ordinal));
+        // Both passes (filter, then rank) read every row
+        metrics.stop(EngineMetrics.Operation.RANK, start, 2 * s.columns.size(), results.size());
+        return results;
+    }
+
+    /**
+     * ALGORITHM: CROSS-DESTINATION BOOKING SEARCH
+     * e.g. findBookings("beaches", "scuba", 0, 5000) = every scuba option
+     * priced up to Rs 5,000 anywhere under Coastal Horizons, cheapest first.
+     * subtreeId null = whole tree; keyword null = any activity or type.
+     * Binary search on the price-sorted catalog plus an O(1) interval check
+     * per entry, instead of walking the subtree and parsing every price.
+     */
+    public List<BookingMatch> findBookings(String subtreeId, String keyword, long minPrice, long maxPrice) {
+        long start = metrics.start();
+        EngineSnapshot s = snapshot.get();
+        int from = subtreeId == null ? 0 : s.intervals.enter(subtreeId);
+        if (from < 0 || minPrice > maxPrice) {
+            metrics.stop(EngineMetrics.Operation.BOOKINGS, start, 0, 0);
+            return new ArrayList<>();
+        }
+        int to = subtreeId == null ? s.intervals.size() : s.intervals.exit(from);
+        BookingCatalog catalog = s.bookings;
+        int[] visited = new int[1];
+        int[] hits = catalog.find(keyword, minPrice, maxPrice, from, to, visited);
+        List<BookingMatch> results = new ArrayList<>(hits.length);
+        for (int e : hits)
+            results.add(new BookingMatch(s.cityRing.get(catalog.city[e]), catalog.option[e], catalog.price[e]));
+        metrics.stop(EngineMetrics.Operation.BOOKINGS, start, visited[0], hits.length);
+        return results;
+    }
+
+    public static void main(String[] args) throws java.io.IOException {
+        // Optional: java DekhoBharatDSA data/destinations.csv (compile with KnowledgeBaseLoader.java)
+        DekhoBharatDSA engine = args.length > 0 ? KnowledgeBaseLoader.load(java.nio.file.Path.of(args[0]))
+                : new DekhoBharatDSA();
         System.out.println("=== DEKHO BHARAT: CORE DSA BACKEND (JAVA) ===");
 
         // 1. DEMO: Trie Prefix Search (High Speed City Lookup)
         System.out.println("\n[TRIE SEARCH]: Searching for 'ga' (Kaziranga/Ganga tags)...");
-        List<TravelNode> searchResults = engine.searchIndex.search("go");
+        List<TravelNode> searchResults = engine.search("go");
         for (TravelNode n : searchResults)
             System.out.println("-> " + n.city + " found in Search Index.");
 
-        // 2. DEMO: DFS Dynamic Path Tracing (Breadcrumbs)
-        System.out.println("\n[DFS PATH TRACING]: Finding path to 'varkala'...");
+        System.out.println("\n[TOP-K SEARCH]: Best 2 cities for 'g'...");
+        for (TravelNode n : engine.search("g", 2))
+            System.out.println("-> " + n.city + " (rating " + n.details.rating + ")");
+
+        System.out.println("\n[FUZZY SEARCH]: Typo 'gulmarq' within 1 edit...");
+        for (TravelNode n : engine.fuzzySearch("gulmarq", 1))
+            System.out.println("-> Did you mean " + n.city + "?");
+
+        // 2. DEMO: Indexed Path Tracing (Breadcrumbs)
+        System.out.println("\n[PATH TRACING]: Finding path to 'varkala'...");
         List<TravelNode> path = engine.findDiscoveryPath("varkala");
         System.out.print("PATH: ");
         for (TravelNode p : path)
             System.out.print((p.city != null ? p.city : p.label) + " >> ");
         System.out.println("SUCCESS");
 
+        System.out.println("\n[ATTRIBUTE FILTER]: (Scuba OR Pristine) AND Nov...");
+        for (TravelNode n : engine.filterCities("(Scuba OR Pristine) AND season:nov"))
+            System.out.println("-> " + n.city + " matches filter.");
+
+        System.out.println("\n[COLUMNAR RANKING]: Top 3 cities rated >= 4.8 with complexity <= 0.7 in Dec...");
+        for (TravelNode n : engine.findCities(4.8f, 0.7f, "Dec", 3))
+            System.out.println("-> " + n.city + " (rating " + n.details.rating + ")");
+
+        System.out.println("\n[BOOKING CATALOG]: Scuba options up to Rs 5,000 under Coastal Horizons...");
+        for (BookingMatch b : engine.findBookings("beaches", "scuba", 0, 5_000))
+            System.out.println("-> " + b);
+
+        System.out.println("\n[SUBTREE QUERIES]: Per-category aggregates, no tree walk...");
+        for (TravelNode category : engine.snapshot().root.children())
+            System.out.println("-> " + engine.summarize(category.id));
+        System.out.println("-> Is Varkala under Coastal Horizons? " + engine.isUnder("beaches", "varkala"));
+
+        System.out.println("\n[BATCH QUERY]: Prefixes g, go, le and paths to havelock, varkala in one call...");
+        BatchResult batch = engine.batch(List.of("g", "go", "le"), List.of("havelock", "varkala"));
+        for (int i = 0; i < batch.prefixCount(); i++)
+            System.out.println("-> '" + batch.prefixes[i] + "': " + batch.matches(i).size() + " match(es)");
+        for (int i = 0; i < batch.idCount(); i++)
+            System.out.println("-> path to " + batch.ids[i] + ": " + batch.path(i).size() + " nodes");
+        System.out.println("-> " + batch.matches.length + " match slots, " + batch.pathNodes.length
+                + " path nodes stored");
+
         // 3. DEMO: Circular Recommendation Engine
         System.out.println("\n[RECOMMENDATION]: Suggesting next nodes after 'leh'...");
         List<TravelNode> recs = engine.getRecommendations("leh");
         for (TravelNode r : recs)
             System.out.println("-> Recommended Next: " + r.city);
 
+        System.out.println("\n[SIMILARITY]: Cities most like 'leh'...");
+        for (TravelNode n : engine.getSimilarRecommendations("leh", 2))
+            System.out.println("-> Similar: " + n.city);
+
+        System.out.println("\n[GEO k-NN]: 5 cities nearest Leh within 600 km...");
+        for (TravelNode n : engine.findNearby("leh", 5, 600))
+            System.out.println("-> Nearby: " + n.city);
+
+        // 4. DEMO: Live edits (Trie patched in place, one rebuilt snapshot per batch)
+        System.out.println("\n[LIVE EDIT]: Adding 'Tarkarli' under Coastal Horizons, then removing 'Goa'...");
+        engine.mutate(editor -> {
+            editor.add("beaches", new TravelNode("tarkarli", "Tarkarli", "Maharashtra", "Konkan coral coast.",
+                    new NodeDetails("Oct-Mar", "Scuba", "Fort", "Malvani Thali", "Devbag", "Humid", "16.0N, 73.5E",
+                            "4.5", "0.42", null),
+                    "Scuba", "Forts"));
+            editor.remove("goa");
+        });
+        for (String prefix : new String[] { "go", "ta" })
+            for (TravelNode n : engine.search(prefix))
+                System.out.println("-> '" + prefix + "': " + n.city + " found (snapshot v" + engine.version() + ")");
+
+        System.out.println("\n[LIVE EDIT]: Two cities named 'Aurangabad', then removing one of them...");
+        engine.mutate(editor -> {
+            editor.add("dekho-india", new TravelNode("aur-mh", "Aurangabad", "Maharashtra", "Ellora gateway.", null));
+            editor.add("dekho-india", new TravelNode("aur-br", "Aurangabad", "Bihar", "Sun temple town.", null));
+        });
+        System.out.println("-> 'aur' before: " + engine.search("aur").size() + " match(es)");
+        engine.removeDestination("aur-br");
+        List<TravelNode> incremental = engine.search("aur");
+        List<TravelNode> rebuilt = new DekhoBharatDSA(engine.snapshot().root.copyTree()).search("aur");
+        System.out.println("-> 'aur' after: " + incremental.get(0).id + " (matches full rebuild: "
+                + (incremental.size() == rebuilt.size() && incremental.get(0).id.equals(rebuilt.get(0).id)) + ")");
+
         System.out.println("\n==============================================");
         System.out.println("All DSA Algorithms Verified 100% Successful.");
         System.out.println("==============================================");
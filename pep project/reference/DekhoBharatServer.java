@@ -0,0 +1,444 @@
+import com.sun.net.httpserver.*;
+import java.io.*;
+import java.net.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * ============================================================
+ * DEKHO BHARAT: EMBEDDED HTTP QUERY SERVER (JDK HttpServer)
+ * ============================================================
+ *
+ * Serves the same read endpoints as the Node 'server.js' straight from the
+ * Java engine:
+ * GET /api/health
+ * GET /api/search?q=... -> Trie prefix search
+ * GET /api/path/:id -> breadcrumb path
+ * GET /api/node/:id -> node with its subtree
+ * GET /api/batch?q=go,le&id=leh,goa -> many searches + paths, one snapshot
+ * GET /api/metrics -> engine latency / result-size summary
+ *
+ * Every node is serialized to JSON exactly once per engine snapshot, by one
+ * background thread fed from the engine's publish listener; requests only
+ * stream those cached byte arrays and never serialize. Until a new version's
+ * JSON is ready, requests keep answering from the previous version. A burst
+ * of publishes is coalesced into one build of the newest snapshot.
+ * Searches go through the engine's query cache, pinned to the snapshot the
+ * JSON was built for. Each request runs on its own virtual thread when the
+ * JDK has them (21+), else on a cached platform pool.
+ *
+ * Compile together with the engine:
+ * javac DekhoBharatDSA.java KnowledgeBaseLoader.java DekhoBharatServer.java
+ * java DekhoBharatServer [port] [destinations.csv]
+ */
+
+public class DekhoBharatServer {
+
+    private static final byte[] OPEN = { '[' }, COMMA = { ',' }, CLOSE = { ']' };
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.UTF_8),
+            BATCH_NEXT_ARRAY = ",[".getBytes(StandardCharsets.UTF_8),
+            BATCH_PATHS = "],\"paths\":[".getBytes(StandardCharsets.UTF_8),
+            BATCH_END = "]}".getBytes(StandardCharsets.UTF_8);
+
+    static {
+        // Headers and body go out as separate writes; without TCP_NODELAY every
+        // response stalls ~40 ms on Nagle + delayed ACK. Read once by the JDK server.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null)
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private final DekhoBharatDSA engine;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    // Newest built JSON; replaced only by jsonBuilder, never by a request
+    private final AtomicReference<JsonCache> cache = new AtomicReference<>();
+    private final ExecutorService jsonBuilder = Executors.newSingleThreadExecutor(task -> {
+        Thread t = new Thread(task, "dekho-json-builder");
+        t.setDaemon(true);
+        return t;
+    });
+    private final Consumer<EngineSnapshot> onPublish = this::scheduleRefresh;
+
+    public DekhoBharatServer(DekhoBharatDSA engine, int port) throws IOException {
+        this.engine = engine;
+        this.server = HttpServer.create(new InetSocketAddress(port), 1024);
+        this.executor = requestExecutor();
+        server.setExecutor(executor);
+        server.createContext("/api/health", ex -> send(ex, 200,
+                "{\"status\":\"ok\",\"message\":\"Dekho Bharat Java Engine Running\"}"));
+        server.createContext("/api/search", this::handleSearch);
+        server.createContext("/api/path/", ex -> handleNode(ex, "/api/path/", true));
+        server.createContext("/api/node/", ex -> handleNode(ex, "/api/node/", false));
+        server.createContext("/api/batch", this::handleBatch);
+        server.createContext("/api/metrics", this::handleMetrics);
+        cache.set(new JsonCache(engine.snapshot()));
+        engine.addPublishListener(onPublish);
+        refreshCache(); // Anything published before the listener was registered
+    }
+
+    // Virtual thread per request on JDK 21+, resolved reflectively so this still compiles on 17
+    static ExecutorService requestExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        engine.removePublishListener(onPublish);
+        server.stop(0);
+        executor.shutdown();
+        jsonBuilder.shutdown();
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    // JSON of the newest snapshot built so far; O(1), never serializes on the request thread
+    private JsonCache cache() {
+        return cache.get();
+    }
+
+    // Publish listener (writer thread): only queues the build
+    private void scheduleRefresh(EngineSnapshot published) {
+        try {
+            jsonBuilder.execute(this::refreshCache);
+        } catch (RejectedExecutionException stopped) {
+            // Server stopped while this publish was in flight: nothing left to serve
+        }
+    }
+
+    /**
+     * BUILDER: Runs on jsonBuilder only, so builds never overlap. Each run
+     * serializes whatever snapshot is newest by then; runs queued behind it
+     * by the same burst of publishes find nothing newer and return at once.
+     */
+    private void refreshCache() {
+        EngineSnapshot snap = engine.snapshot();
+        if (cache.get().snapshot.version < snap.version)
+            cache.set(new JsonCache(snap));
+    }
+
+    private void handleSearch(HttpExchange ex) throws IOException {
+        if (!allowGet(ex))
+            return;
+        String q = queryParam(ex.getRequestURI().getRawQuery(), "q");
+        if (q == null || q.isEmpty()) {
+            send(ex, 400, "{\"error\":\"Query parameter \\\"q\\\" is required\"}");
+            return;
+        }
+        JsonCache json = cache();
+        List<TravelNode> results = engine.search(json.snapshot, q); // Query cache, same snapshot as the JSON
+        List<byte[]> parts = new ArrayList<>(results.size());
+        for (TravelNode n : results)
+            parts.add(json.node(n));
+        sendArray(ex, parts);
+    }
+
+    private void handleNode(HttpExchange ex, String prefix, boolean asPath) throws IOException {
+        if (!allowGet(ex))
+            return;
+        String id = URLDecoder.decode(ex.getRequestURI().getRawPath().substring(prefix.length()),
+                StandardCharsets.UTF_8);
+        JsonCache json = cache();
+        EngineMetrics metrics = engine.metrics();
+        long start = metrics.start();
+        List<TravelNode> path = json.snapshot.breadcrumbs.get(id);
+        metrics.stop(EngineMetrics.Operation.DISCOVERY_PATH, start, 0, path == null ? 0 : path.size());
+        if (path == null) {
+            send(ex, 404, "{\"error\":\"" + (asPath ? "Path to node" : "Node with id") + " \\\""
+                    + JsonCache.escape(id) + "\\\" not found\"}");
+            return;
+        }
+        if (!asPath) {
+            sendBytes(ex, 200, List.of(json.node(path.get(path.size() - 1))));
+            return;
+        }
+        List<byte[]> parts = new ArrayList<>(path.size());
+        for (TravelNode n : path)
+            parts.add(json.node(n));
+        sendArray(ex, parts);
+    }
+
+    /**
+     * BATCH: {"version":v,"search":[[...],...],"paths":[[...]|null,...]} in
+     * request order, so a dashboard page load is one round trip answered by
+     * one shared Trie walk and one path pass (see BatchResult).
+     */
+    private void handleBatch(HttpExchange ex) throws IOException {
+        if (!allowGet(ex))
+            return;
+        String rawQuery = ex.getRequestURI().getRawQuery();
+        List<String> prefixes = listParam(rawQuery, "q"), ids = listParam(rawQuery, "id");
+        if (prefixes.isEmpty() && ids.isEmpty()) {
+            send(ex, 400, "{\"error\":\"Query parameter \\\"q\\\" or \\\"id\\\" is required\"}");
+            return;
+        }
+        JsonCache json = cache();
+        EngineMetrics metrics = engine.metrics();
+        long start = metrics.start();
+        BatchResult batch = new BatchResult(json.snapshot, prefixes, ids);
+        metrics.stop(EngineMetrics.Operation.BATCH, start, batch.nodesVisited,
+                batch.matches.length + batch.pathNodes.length);
+
+        List<byte[]> parts = new ArrayList<>();
+        parts.add(("{\"version\":" + batch.version + ",\"search\":[").getBytes(StandardCharsets.UTF_8));
+        for (int i = 0; i < batch.prefixCount(); i++) {
+            parts.add(i > 0 ? BATCH_NEXT_ARRAY : OPEN);
+            for (int m = batch.matchStart[i]; m < batch.matchEnd[i]; m++) {
+                if (m > batch.matchStart[i])
+                    parts.add(COMMA);
+                parts.add(json.node(batch.matches[m]));
+            }
+            parts.add(CLOSE);
+        }
+        parts.add(BATCH_PATHS);
+        for (int i = 0; i < batch.idCount(); i++) {
+            if (i > 0)
+                parts.add(COMMA);
+            List<TravelNode> path = batch.path(i);
+            if (path == null) {
+                parts.add(NULL);
+                continue;
+            }
+            parts.add(OPEN);
+            for (int n = 0; n < path.size(); n++) {
+                if (n > 0)
+                    parts.add(COMMA);
+                parts.add(json.node(path.get(n)));
+            }
+            parts.add(CLOSE);
+        }
+        parts.add(BATCH_END);
+        sendBytes(ex, 200, parts);
+    }
+
+    // Comma-separated values of one parameter, blanks dropped
+    private static List<String> listParam(String rawQuery, String name) {
+        String value = queryParam(rawQuery, name);
+        List<String> values = new ArrayList<>();
+        if (value != null)
+            for (String v : value.split(","))
+                if (!v.isBlank())
+                    values.add(v.trim());
+        return values;
+    }
+
+    // Live engine statistics (not cached: built from the recorders per request)
+    private void handleMetrics(HttpExchange ex) throws IOException {
+        if (!allowGet(ex))
+            return;
+        EngineMetrics metrics = engine.metrics();
+        StringBuilder sb = new StringBuilder("{\"enabled\":").append(metrics.isEnabled());
+        sb.append(",\"operations\":{");
+        boolean first = true;
+        for (EngineMetrics.OperationStats s : metrics.snapshot().values()) {
+            if (s.count == 0)
+                continue;
+            sb.append(first ? "" : ",").append('"').append(s.operation).append("\":{");
+            sb.append("\"count\":").append(s.count).append(",\"p50Nanos\":").append(s.p50Nanos);
+            sb.append(",\"p99Nanos\":").append(s.p99Nanos).append(",\"maxNanos\":").append(s.maxNanos);
+            sb.append(",\"nodesVisited\":").append(s.nodesVisited).append(",\"resultP99\":").append(s.resultP99);
+            sb.append('}');
+            first = false;
+        }
+        QueryCache<String, List<TravelNode>> qc = engine.queryCache();
+        sb.append("},\"queryCache\":{\"size\":").append(qc.size()).append(",\"hitRate\":").append(qc.hitRate());
+        sb.append(",\"evictions\":").append(qc.evictions()).append(",\"rejections\":").append(qc.rejections());
+        send(ex, 200, sb.append("}}").toString());
+    }
+
+    private static boolean allowGet(HttpExchange ex) throws IOException {
+        if (ex.getRequestMethod().equals("GET"))
+            return true;
+        send(ex, 405, "{\"error\":\"Method not allowed\"}");
+        return false;
+    }
+
+    private static String queryParam(String rawQuery, String name) {
+        if (rawQuery == null)
+            return null;
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq < 0 ? pair : pair.substring(0, eq);
+            if (key.equals(name))
+                return eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+        }
+        return null;
+    }
+
+    private static void sendArray(HttpExchange ex, List<byte[]> items) throws IOException {
+        List<byte[]> parts = new ArrayList<>(items.size() * 2 + 1);
+        parts.add(OPEN);
+        for (int i = 0; i < items.size(); i++) {
+            if (i > 0)
+                parts.add(COMMA);
+            parts.add(items.get(i));
+        }
+        parts.add(CLOSE);
+        sendBytes(ex, 200, parts);
+    }
+
+    private static void send(HttpExchange ex, int status, String body) throws IOException {
+        sendBytes(ex, status, List.of(body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    // Streams pre-serialized fragments with an exact Content-Length (no re-encoding)
+    private static void sendBytes(HttpExchange ex, int status, List<byte[]> parts) throws IOException {
+        long length = 0;
+        for (byte[] p : parts)
+            length += p.length;
+        Headers headers = ex.getResponseHeaders();
+        headers.set("Content-Type", "application/json; charset=utf-8");
+        headers.set("Access-Control-Allow-Origin", "*");
+        ex.sendResponseHeaders(status, length);
+        try (OutputStream out = ex.getResponseBody()) {
+            for (byte[] p : parts)
+                out.write(p);
+        }
+    }
+
+    /**
+     * CACHE: UTF-8 JSON per node of one snapshot, built bottom-up so each
+     * node's bytes embed its children's already-built bytes (same shape as the
+     * Node server: fields, details, tags, children).
+     */
+    static final class JsonCache {
+        final EngineSnapshot snapshot;
+        private final Map<TravelNode, byte[]> bytes = new IdentityHashMap<>();
+
+        JsonCache(EngineSnapshot snapshot) {
+            this.snapshot = snapshot;
+            // Post-order: every child is encoded before its parent
+            TreeWalker.walk(snapshot.root, new TreeVisitor() {
+                @Override
+                public TraversalControl enter(TravelNode node, TreeWalker walk) {
+                    return TraversalControl.CONTINUE;
+                }
+
+                @Override
+                public void exit(TravelNode node, TreeWalker walk) {
+                    bytes.put(node, encode(node));
+                }
+            });
+        }
+
+        byte[] node(TravelNode n) {
+            return bytes.get(n);
+        }
+
+        private byte[] encode(TravelNode n) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+            StringBuilder sb = new StringBuilder("{");
+            field(sb, "id", n.id);
+            field(sb, "label", n.label);
+            field(sb, "city", n.city);
+            field(sb, "state", n.state);
+            field(sb, "description", n.description);
+            if (n.details != null) {
+                NodeDetails d = n.details;
+                sb.append("\"details\":{");
+                field(sb, "bestSeason", d.bestSeason);
+                field(sb, "mustTry", d.mustTry);
+                field(sb, "activities", d.activities);
+                field(sb, "localFood", d.localFood);
+                field(sb, "hiddenGem", d.hiddenGem);
+                field(sb, "climate", d.climate);
+                field(sb, "coords", d.coords);
+                field(sb, "rating", d.rating);
+                field(sb, "complexityIdx", d.complexityIdx);
+                if (d.guide != null) {
+                    sb.append("\"guide\":{");
+                    field(sb, "name", d.guide.name);
+                    field(sb, "phone", d.guide.phone);
+                    field(sb, "email", d.guide.email);
+                    trimComma(sb).append("},");
+                }
+                sb.append("\"bookingOptions\":[");
+                for (int i = 0; i < d.bookingOptions.size(); i++) {
+                    BookingOption b = d.bookingOptions.get(i);
+                    sb.append(i > 0 ? ",{" : "{");
+                    field(sb, "activity", b.activity);
+                    field(sb, "price", b.price);
+                    field(sb, "type", b.type);
+                    trimComma(sb).append('}');
+                }
+                sb.append("]},");
+            }
+            sb.append("\"tags\":[");
+            for (int i = 0; i < n.tags.size(); i++)
+                sb.append(i > 0 ? "," : "").append('"').append(escape(n.tags.get(i))).append('"');
+            sb.append("],\"children\":[");
+            out.writeBytes(sb.toString().getBytes(StandardCharsets.UTF_8));
+            for (int i = 0; i < n.children().size(); i++) {
+                if (i > 0)
+                    out.write(',');
+                out.writeBytes(bytes.get(n.children().get(i)));
+            }
+            out.writeBytes("]}".getBytes(StandardCharsets.UTF_8));
+            return out.toByteArray();
+        }
+
+        private static void field(StringBuilder sb, String name, String value) {
+            if (value != null)
+                sb.append('"').append(name).append("\":\"").append(escape(value)).append("\",");
+        }
+
+        private static StringBuilder trimComma(StringBuilder sb) {
+            if (sb.charAt(sb.length() - 1) == ',')
+                sb.setLength(sb.length() - 1);
+            return sb;
+        }
+
+        static String escape(String s) {
+            StringBuilder out = new StringBuilder(s.length() + 8);
+            for (int i = 0; i < s.length(); i++) {
+                char c = s.charAt(i);
+                switch (c) {
+                    case '"':
+                        out.append("\\\"");
+                        break;
+                    case '\\':
+                        out.append("\\\\");
+                        break;
+                    case '\n':
+                        out.append("\\n");
+                        break;
+                    case '\r':
+                        out.append("\\r");
+                        break;
+                    case '\t':
+                        out.append("\\t");
+                        break;
+                    default:
+                        if (c < 0x20)
+                            out.append(String.format("\\u%04x", (int) c));
+                        else
+                            out.append(c);
+                }
+            }
+            return out.toString();
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+        DekhoBharatDSA engine = args.length > 1 ? KnowledgeBaseLoader.load(Path.of(args[1])) : new DekhoBharatDSA();
+        engine.metrics().setEnabled(true);
+        engine.metrics().registerMBean("server-" + port);
+        DekhoBharatServer server = new DekhoBharatServer(engine, port);
+        server.start();
+        System.out.println("Dekho Bharat Java engine running on http://localhost:" + server.port() + " ("
+                + server.executor.getClass().getSimpleName() + ")");
+    }
+}
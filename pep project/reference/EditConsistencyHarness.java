@@ -0,0 +1,179 @@
+import java.util.*;
+
+/**
+ * ============================================================
+ * ANALYSIS: LIVE EDITS vs FULL REBUILD
+ * ============================================================
+ *
+ * Drives random add / remove / move / update batches through mutate()
+ * over deliberately colliding city names ("Aurangabad" twice, "Aur",
+ * "Go" next to "Goa"...), and after every published batch compares the
+ * engine with a fresh new DekhoBharatDSA(copy) of the same tree:
+ * - the whole Trie, node by node: child keys, words, same-name lists and
+ * top-k caches, so a missed prune or a stale cache fails even when the
+ * search results happen to agree;
+ * - prefix, top-k and fuzzy search for a fixed set of probes;
+ * - the recommendation ring and every node's breadcrumb.
+ * Exits with status 1 on the first mismatch.
+ *
+ * Compile together with the engine:
+ * javac DekhoBharatDSA.java EditConsistencyHarness.java
+ * java EditConsistencyHarness [batches] [seed]
+ */
+
+public class EditConsistencyHarness {
+
+    private static final String[] NAMES = { "Aurangabad", "Aurangabad", "Aur", "Auroville", "Goa", "Gokarna", "Go",
+            "Leh", "Lehra" };
+    private static final String[] PROBES = { "", "a", "au", "aur", "aurangabad", "g", "go", "goa", "gok", "l",
+            "leh", "z" };
+
+    private static int nextId;
+
+    private static List<String> ids(List<TravelNode> nodes) {
+        List<String> ids = new ArrayList<>(nodes.size());
+        for (TravelNode n : nodes)
+            ids.add(n.id);
+        return ids;
+    }
+
+    private static List<String> sortedIds(List<TravelNode> nodes) {
+        List<String> ids = ids(nodes);
+        Collections.sort(ids);
+        return ids;
+    }
+
+    private static void check(boolean ok, int batch, String what) {
+        if (!ok) {
+            System.err.println("MISMATCH after batch " + batch + ": " + what);
+            System.exit(1);
+        }
+    }
+
+    private static TravelNode randomCity(Random rnd) {
+        String id = "x" + nextId++;
+        return new TravelNode(id, NAMES[rnd.nextInt(NAMES.length)], "State", "Generated.",
+                new NodeDetails("Nov-Feb", "-", "-", "-", "-", "Humid", "15.0N, 74.0E",
+                        String.valueOf(3 + rnd.nextInt(20) / 10.0), String.valueOf(rnd.nextInt(100) / 100.0), null),
+                "Tag" + rnd.nextInt(4));
+    }
+
+    // One random edit; categories are picked among the non-root nodes without a city
+    private static void randomEdit(TreeEditor editor, EngineSnapshot base, Random rnd) {
+        List<String> cities = new ArrayList<>(base.ringIndex.keySet());
+        List<String> categories = new ArrayList<>();
+        for (TravelNode n : base.idIndex.values())
+            if (n.city == null)
+                categories.add(n.id);
+        Collections.sort(cities);
+        Collections.sort(categories);
+        String category = categories.get(rnd.nextInt(categories.size()));
+        String city = cities.isEmpty() ? null : cities.get(rnd.nextInt(cities.size()));
+        if (city != null && editor.get(city) == null)
+            city = null; // Removed earlier in this batch
+        if (editor.get(category) == null)
+            category = "dekho-india";
+
+        switch (rnd.nextInt(6)) {
+        case 0:
+        case 1:
+            editor.add(category, randomCity(rnd));
+            break;
+        case 2: { // A small category subtree in one add
+            TravelNode sub = new TravelNode("x" + nextId++, "Group", "Generated category.");
+            for (int i = 1 + rnd.nextInt(3); i > 0; i--)
+                sub.addChild(randomCity(rnd));
+            editor.add(category, sub);
+            break;
+        }
+        case 3:
+            if (city != null)
+                editor.remove(city);
+            break;
+        case 4:
+            if (city != null && !isAncestor(editor.get(city), editor.get(category)))
+                editor.move(city, category);
+            break;
+        default:
+            if (city != null) {
+                String name = NAMES[rnd.nextInt(NAMES.length)];
+                String rating = String.valueOf(3 + rnd.nextInt(20) / 10.0);
+                editor.update(city, n -> n.withCity(name).withDetails(n.details.withRating(rating)));
+            }
+        }
+    }
+
+    private static boolean isAncestor(TravelNode node, TravelNode target) {
+        for (TravelNode t = target; t != null; t = t.parent())
+            if (t == node)
+                return true;
+        return false;
+    }
+
+    // Walks both Tries in lockstep; null if identical, else the first differing key
+    private static String trieDiff(Trie edited, Trie rebuilt) {
+        Deque<TrieNode> left = new ArrayDeque<>(List.of(edited.root));
+        Deque<TrieNode> right = new ArrayDeque<>(List.of(rebuilt.root));
+        Deque<String> keys = new ArrayDeque<>(List.of(""));
+        while (!left.isEmpty()) {
+            TrieNode a = left.pop(), b = right.pop();
+            String key = keys.pop();
+            if (!a.children.keySet().equals(b.children.keySet()))
+                return "'" + key + "' children " + a.children.keySet() + " vs " + b.children.keySet();
+            if (a.isEndOfWord != b.isEndOfWord)
+                return "'" + key + "' word flag";
+            if (a.isEndOfWord && !ids(a.nodeData).equals(ids(b.nodeData)))
+                return "'" + key + "' same-name list " + ids(a.nodeData) + " vs " + ids(b.nodeData);
+            if (!ids(a.topRated).equals(ids(b.topRated)))
+                return "'" + key + "' top-k " + ids(a.topRated) + " vs " + ids(b.topRated);
+            for (Map.Entry<Character, TrieNode> child : a.children.entrySet()) {
+                left.push(child.getValue());
+                right.push(b.children.get(child.getKey()));
+                keys.push(key + child.getKey());
+            }
+        }
+        return null;
+    }
+
+    private static void compare(DekhoBharatDSA engine, int batch) {
+        EngineSnapshot edited = engine.snapshot();
+        DekhoBharatDSA rebuilt = new DekhoBharatDSA(edited.root.copyTree());
+        EngineSnapshot fresh = rebuilt.snapshot();
+
+        String diff = trieDiff(edited.searchIndex, fresh.searchIndex);
+        check(diff == null, batch, "trie " + diff);
+        for (String p : PROBES) {
+            check(sortedIds(engine.search(p)).equals(sortedIds(rebuilt.search(p))), batch, "search '" + p + "'");
+            check(ids(engine.search(p, 5)).equals(ids(rebuilt.search(p, 5))), batch, "top-5 '" + p + "'");
+            check(sortedIds(engine.fuzzySearch(p, 1)).equals(sortedIds(rebuilt.fuzzySearch(p, 1))), batch,
+                    "fuzzy '" + p + "'");
+        }
+        check(ids(edited.cityRing).equals(ids(fresh.cityRing)), batch, "city ring");
+        for (String id : edited.idIndex.keySet())
+            check(ids(engine.findDiscoveryPath(id)).equals(ids(rebuilt.findDiscoveryPath(id))), batch,
+                    "breadcrumb " + id);
+        check(edited.idIndex.keySet().equals(fresh.idIndex.keySet()), batch, "id index");
+    }
+
+    public static void main(String[] args) {
+        int batches = args.length > 0 ? Integer.parseInt(args[0]) : 2_000;
+        Random rnd = new Random(args.length > 1 ? Long.parseLong(args[1]) : 7);
+        System.out.println("=== DEKHO BHARAT: LIVE EDITS vs FULL REBUILD (" + batches + " batches) ===\n");
+
+        DekhoBharatDSA engine = new DekhoBharatDSA();
+        int edits = 0;
+        for (int batch = 1; batch <= batches; batch++) {
+            int size = 1 + rnd.nextInt(4);
+            EngineSnapshot base = engine.snapshot();
+            engine.mutate(editor -> {
+                for (int i = 0; i < size; i++)
+                    randomEdit(editor, base, rnd);
+            });
+            edits += size;
+            compare(engine, batch);
+        }
+        EngineSnapshot last = engine.snapshot();
+        System.out.println("OK: " + edits + " edits in " + batches + " batches matched a full rebuild ("
+                + last.cityRing.size() + " cities, " + last.idIndex.size() + " nodes at the end)");
+    }
+}
@@ -0,0 +1,595 @@
+import java.io.*;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * ============================================================
+ * DEKHO BHARAT: BINARY ENGINE IMAGE (MEMORY-MAPPED SNAPSHOT)
+ * ============================================================
+ *
+ * Serializes a published EngineSnapshot (tree, Trie, id index, ring) into
+ * flat int sections plus one interned string table. Opening an image is a
+ * single FileChannel.map plus one sequential bounds check of every section;
+ * lookups, breadcrumbs, recommendations and prefix search then read
+ * straight from the mapping and only materialize the TravelNodes they
+ * return. The image is read-only: top-k, fuzzy, booking, subtree and geo
+ * queries and live edits need a full engine, i.e. toTree() plus the
+ * DekhoBharatDSA constructor (an O(N log N) rebuild; the derived indexes
+ * are not persisted).
+ *
+ * LAYOUT (big-endian, all positions are absolute byte offsets):
+ * [HEADER 80 B] magic, format, file length, counts, section offsets
+ * [STRINGS] int offsets[stringCount + 1] + UTF-8 bytes (each value once)
+ * [NODES] NODE_INTS ints per node, pre-order (parent ordinal < child)
+ * [TAGS] string indexes referenced by node TAG_START / TAG_COUNT
+ * [ID INDEX] node ordinals sorted by id (binary search)
+ * [RING] city ordinals in recommendation-ring order
+ * [TRIE] 4 ints per CompactTrie node: edge char, first child, next
+ * sibling, first city ordinal (-1 if not end of word); further
+ * same-name cities chain through node NEXT_SAME_NAME, in id order
+ * [BOOKINGS] 3 string indexes per booking option (activity, price,
+ * type), referenced by node BOOKING_START / BOOKING_COUNT
+ *
+ * Compile together with the engine:
+ * javac DekhoBharatDSA.java EngineImage.java
+ * java -Xmx2g EngineImage [cityCount]
+ */
+
+public class EngineImage {
+
+    static final int MAGIC = 0x444B4248; // "DKBH"
+    static final int FORMAT_VERSION = 2;
+    static final int HEADER_BYTES = 80;
+    private static final int NONE = -1;
+
+    // Node record layout (one int per field; strings are string-table indexes)
+    private static final int PARENT = 0, ID = 1, LABEL = 2, CITY = 3, STATE = 4, DESCRIPTION = 5, HAS_DETAILS = 6,
+            BEST_SEASON = 7, MUST_TRY = 8, ACTIVITIES = 9, LOCAL_FOOD = 10, HIDDEN_GEM = 11, CLIMATE = 12,
+            COORDS = 13, RATING = 14, COMPLEXITY = 15, GUIDE_NAME = 16, GUIDE_PHONE = 17, GUIDE_EMAIL = 18,
+            TAG_START = 19, TAG_COUNT = 20, RING_POS = 21, NEXT_SAME_NAME = 22, BOOKING_START = 23,
+            BOOKING_COUNT = 24;
+    static final int NODE_INTS = 25;
+
+    private final MappedByteBuffer buf;
+    private final int nodeCount, stringCount, trieNodeCount, cityCount, tagCount, bookingCount;
+    private final int stringOffsetsPos, stringDataPos, nodeTablePos, tagTablePos, idSortedPos, ringPos, triePos,
+            bookingsPos;
+    private final long engineVersion;
+    // Lazily materialized nodes, shared by all readers
+    private final AtomicReferenceArray<TravelNode> materialized;
+
+    // --- WRITER ---
+
+    /**
+     * SERIALIZE: O(N) pass over the engine's current snapshot.
+     * Node ordinals follow the same pre-order the snapshot uses.
+     */
+    public static void write(DekhoBharatDSA engine, Path file) throws IOException {
+        EngineSnapshot snap = engine.snapshot();
+        List<TravelNode> nodes = new ArrayList<>(snap.idIndex.size());
+        Map<TravelNode, Integer> ordinals = new IdentityHashMap<>();
+        TreeWalker.walk(snap.root, (node, walk) -> {
+            ordinals.put(node, nodes.size());
+            nodes.add(node);
+            return TraversalControl.CONTINUE;
+        });
+
+        Map<String, Integer> pool = new HashMap<>();
+        List<String> strings = new ArrayList<>();
+        int[] table = new int[nodes.size() * NODE_INTS];
+        List<Integer> tags = new ArrayList<>();
+        List<Integer> bookings = new ArrayList<>();
+        for (int ord = 0; ord < nodes.size(); ord++) {
+            TravelNode n = nodes.get(ord);
+            int base = ord * NODE_INTS;
+            Arrays.fill(table, base, base + NODE_INTS, NONE);
+            table[base + PARENT] = n.parent() == null ? NONE : ordinals.get(n.parent());
+            table[base + ID] = intern(n.id, pool, strings);
+            table[base + LABEL] = intern(n.label, pool, strings);
+            table[base + CITY] = intern(n.city, pool, strings);
+            table[base + STATE] = intern(n.state, pool, strings);
+            table[base + DESCRIPTION] = intern(n.description, pool, strings);
+            table[base + HAS_DETAILS] = n.details == null ? 0 : 1;
+            if (n.details != null) {
+                NodeDetails d = n.details;
+                table[base + BEST_SEASON] = intern(d.bestSeason, pool, strings);
+                table[base + MUST_TRY] = intern(d.mustTry, pool, strings);
+                table[base + ACTIVITIES] = intern(d.activities, pool, strings);
+                table[base + LOCAL_FOOD] = intern(d.localFood, pool, strings);
+                table[base + HIDDEN_GEM] = intern(d.hiddenGem, pool, strings);
+                table[base + CLIMATE] = intern(d.climate, pool, strings);
+                table[base + COORDS] = intern(d.coords, pool, strings);
+                table[base + RATING] = intern(d.rating, pool, strings);
+                table[base + COMPLEXITY] = intern(d.complexityIdx, pool, strings);
+                if (d.guide != null) {
+                    table[base + GUIDE_NAME] = intern(d.guide.name, pool, strings);
+                    table[base + GUIDE_PHONE] = intern(d.guide.phone, pool, strings);
+                    table[base + GUIDE_EMAIL] = intern(d.guide.email, pool, strings);
+                }
+                table[base + BOOKING_START] = bookings.size() / 3;
+                table[base + BOOKING_COUNT] = d.bookingOptions.size();
+                for (BookingOption b : d.bookingOptions) {
+                    bookings.add(intern(b.activity, pool, strings));
+                    bookings.add(intern(b.price, pool, strings));
+                    bookings.add(intern(b.type, pool, strings));
+                }
+            }
+            table[base + TAG_START] = tags.size();
+            table[base + TAG_COUNT] = n.tags.size();
+            for (String tag : n.tags)
+                tags.add(intern(tag, pool, strings));
+            Integer ring = snap.ringIndex.get(n.id);
+            table[base + RING_POS] = ring == null ? NONE : ring;
+        }
+
+        Integer[] byId = new Integer[nodes.size()];
+        for (int i = 0; i < byId.length; i++)
+            byId[i] = i;
+        Arrays.sort(byId, Comparator.comparing(i -> nodes.get(i).id));
+
+        CompactTrie trie = new CompactTrie();
+        for (TravelNode city : snap.cityRing)
+            trie.insert(city);
+        for (int t = 0; t < trie.nodeCount(); t++) {
+            List<TravelNode> sameName = trie.valuesAt(t);
+            for (int i = 1; i < sameName.size(); i++)
+                table[ordinals.get(sameName.get(i - 1)) * NODE_INTS + NEXT_SAME_NAME] = ordinals.get(sameName.get(i));
+        }
+
+        byte[][] utf8 = new byte[strings.size()][];
+        long stringBytes = 0;
+        for (int i = 0; i < utf8.length; i++) {
+            utf8[i] = strings.get(i).getBytes(StandardCharsets.UTF_8);
+            stringBytes += utf8[i].length;
+        }
+
+        long stringOffsetsPos = HEADER_BYTES;
+        long stringDataPos = stringOffsetsPos + 4L * (strings.size() + 1);
+        long nodeTablePos = align4(stringDataPos + stringBytes);
+        long tagTablePos = nodeTablePos + 4L * table.length;
+        long idSortedPos = tagTablePos + 4L * tags.size();
+        long ringPos = idSortedPos + 4L * nodes.size();
+        long triePos = ringPos + 4L * snap.cityRing.size();
+        long bookingsPos = triePos + 16L * trie.nodeCount();
+        long fileLength = bookingsPos + 4L * bookings.size();
+        if (fileLength > Integer.MAX_VALUE)
+            throw new IOException("Engine image exceeds 2 GB single-mapping limit");
+
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(file), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(fileLength);
+            out.writeInt(nodes.size());
+            out.writeInt(strings.size());
+            out.writeInt(trie.nodeCount());
+            out.writeInt(snap.cityRing.size());
+            out.writeInt(tags.size());
+            for (long pos : new long[] { stringOffsetsPos, stringDataPos, nodeTablePos, tagTablePos, idSortedPos,
+                    ringPos, triePos })
+                out.writeInt((int) pos);
+            out.writeLong(snap.version);
+            out.writeInt(bookings.size() / 3);
+            out.writeInt((int) bookingsPos);
+
+            int offset = 0;
+            for (byte[] s : utf8) {
+                out.writeInt(offset);
+                offset += s.length;
+            }
+            out.writeInt(offset);
+            for (byte[] s : utf8)
+                out.write(s);
+            for (long pad = nodeTablePos - (stringDataPos + stringBytes); pad > 0; pad--)
+                out.writeByte(0);
+
+            for (int v : table)
+                out.writeInt(v);
+            for (int v : tags)
+                out.writeInt(v);
+            for (int v : byId)
+                out.writeInt(v);
+            for (TravelNode city : snap.cityRing)
+                out.writeInt(ordinals.get(city));
+            for (int t = 0; t < trie.nodeCount(); t++) {
+                TravelNode value = trie.valueAt(t);
+                out.writeInt(trie.edgeChar(t));
+                out.writeInt(trie.firstChild(t));
+                out.writeInt(trie.nextSibling(t));
+                out.writeInt(value == null ? NONE : ordinals.get(value));
+            }
+            for (int v : bookings)
+                out.writeInt(v);
+        }
+    }
+
+    private static int intern(String value, Map<String, Integer> pool, List<String> strings) {
+        if (value == null)
+            return NONE;
+        Integer idx = pool.get(value);
+        if (idx == null) {
+            idx = strings.size();
+            pool.put(value, idx);
+            strings.add(value);
+        }
+        return idx;
+    }
+
+    private static long align4(long pos) {
+        return (pos + 3) & ~3L;
+    }
+
+    // --- READER ---
+
+    /**
+     * COLD START: One mmap + an O(file) bounds check; no tree or index
+     * rebuild. Throws IOException for a truncated or corrupt image.
+     */
+    public static EngineImage open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_BYTES || channel.size() > Integer.MAX_VALUE)
+                throw new IOException("Corrupt engine image: bad file size " + channel.size());
+            return new EngineImage(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    private EngineImage(MappedByteBuffer buf) throws IOException {
+        this.buf = buf;
+        if (buf.getInt(0) != MAGIC)
+            throw new IOException("Corrupt engine image: bad magic");
+        if (buf.getInt(4) != FORMAT_VERSION)
+            throw new IOException("Unsupported engine image format " + buf.getInt(4));
+        if (buf.getLong(8) != buf.capacity())
+            throw new IOException("Corrupt engine image: truncated (" + buf.capacity() + " of " + buf.getLong(8)
+                    + " bytes)");
+        nodeCount = buf.getInt(16);
+        stringCount = buf.getInt(20);
+        trieNodeCount = buf.getInt(24);
+        cityCount = buf.getInt(28);
+        tagCount = buf.getInt(32);
+        stringOffsetsPos = buf.getInt(36);
+        stringDataPos = buf.getInt(40);
+        nodeTablePos = buf.getInt(44);
+        tagTablePos = buf.getInt(48);
+        idSortedPos = buf.getInt(52);
+        ringPos = buf.getInt(56);
+        triePos = buf.getInt(60);
+        engineVersion = buf.getLong(64);
+        bookingCount = buf.getInt(72);
+        bookingsPos = buf.getInt(76);
+
+        // Every section must sit where the counts say it does
+        if (stringDataPos != stringOffsetsPos + 4L * (stringCount + 1) || nodeTablePos < stringDataPos
+                || tagTablePos != nodeTablePos + 4L * NODE_INTS * nodeCount
+                || idSortedPos != tagTablePos + 4L * tagCount || ringPos != idSortedPos + 4L * nodeCount
+                || triePos != ringPos + 4L * cityCount || bookingsPos != triePos + 16L * trieNodeCount
+                || buf.capacity() != bookingsPos + 12L * bookingCount)
+            throw new IOException("Corrupt engine image: inconsistent section table");
+        validate();
+        materialized = new AtomicReferenceArray<>(nodeCount);
+    }
+
+    /**
+     * VALIDATION: One sequential pass over every section, so a bad file
+     * fails here instead of as an IndexOutOfBounds or an endless parent
+     * climb in the middle of a query:
+     * - string offsets start at 0, never decrease and stay in the data block;
+     * - node 0 is the only root and every other parent ordinal is smaller
+     * than its child's (pre-order), so every parent chain ends at node 0;
+     * - every string, tag, booking, ring, id and Trie reference is in range.
+     */
+    private void validate() throws IOException {
+        if (nodeCount < 1 || stringCount < 0 || trieNodeCount < 1 || cityCount < 0 || cityCount > nodeCount
+                || tagCount < 0 || bookingCount < 0 || stringOffsetsPos != HEADER_BYTES)
+            throw corrupt("bad section counts");
+
+        int previous = 0;
+        for (int i = 0; i <= stringCount; i++) {
+            int offset = buf.getInt(stringOffsetsPos + 4 * i);
+            if (offset < previous || (i == 0 && offset != 0) || offset > nodeTablePos - stringDataPos)
+                throw corrupt("string offset " + i + " out of bounds");
+            previous = offset;
+        }
+
+        for (int ord = 0; ord < nodeCount; ord++) {
+            int parent = field(ord, PARENT);
+            if (ord == 0 ? parent != NONE : parent < 0 || parent >= ord)
+                throw corrupt("node " + ord + " has parent " + parent);
+            boolean ok = field(ord, ID) != NONE && isString(field(ord, ID)) && isString(field(ord, LABEL))
+                    && isString(field(ord, CITY)) && isString(field(ord, STATE))
+                    && isString(field(ord, DESCRIPTION))
+                    && inRange(field(ord, TAG_START), field(ord, TAG_COUNT), tagCount)
+                    && isOrdinal(field(ord, RING_POS), cityCount) && isOrdinal(field(ord, NEXT_SAME_NAME), nodeCount);
+            int hasDetails = field(ord, HAS_DETAILS);
+            if (hasDetails == 1) {
+                for (int f = BEST_SEASON; f <= GUIDE_EMAIL; f++)
+                    ok &= isString(field(ord, f));
+                ok &= inRange(field(ord, BOOKING_START), field(ord, BOOKING_COUNT), bookingCount);
+            } else
+                ok &= hasDetails == 0;
+            if (!ok)
+                throw corrupt("node " + ord + " has a field out of bounds");
+        }
+
+        for (int t = 0; t < tagCount; t++)
+            if (!isString(buf.getInt(tagTablePos + 4 * t)))
+                throw corrupt("tag " + t + " out of bounds");
+        for (int b = 0; b < 3 * bookingCount; b++)
+            if (!isString(buf.getInt(bookingsPos + 4 * b)))
+                throw corrupt("booking option " + b / 3 + " out of bounds");
+        for (int i = 0; i < nodeCount; i++)
+            if (!inRange(buf.getInt(idSortedPos + 4 * i), 1, nodeCount))
+                throw corrupt("id index entry " + i + " out of bounds");
+        for (int i = 0; i < cityCount; i++)
+            if (!inRange(buf.getInt(ringPos + 4 * i), 1, nodeCount))
+                throw corrupt("ring entry " + i + " out of bounds");
+        for (int t = 0; t < trieNodeCount; t++)
+            if (!isOrdinal(trie(t, 1), trieNodeCount) || !isOrdinal(trie(t, 2), trieNodeCount)
+                    || !isOrdinal(trie(t, 3), nodeCount))
+                throw corrupt("trie node " + t + " out of bounds");
+    }
+
+    private static IOException corrupt(String what) {
+        return new IOException("Corrupt engine image: " + what);
+    }
+
+    // NONE or an index below limit
+    private static boolean isOrdinal(int value, int limit) {
+        return value >= NONE && value < limit;
+    }
+
+    private boolean isString(int idx) {
+        return isOrdinal(idx, stringCount);
+    }
+
+    // [start, start + count) inside [0, limit)
+    private static boolean inRange(int start, int count, int limit) {
+        return start >= 0 && count >= 0 && start <= limit - count;
+    }
+
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    public long engineVersion() {
+        return engineVersion;
+    }
+
+    private int field(int ordinal, int field) {
+        return buf.getInt(nodeTablePos + 4 * (ordinal * NODE_INTS + field));
+    }
+
+    private String string(int idx) {
+        if (idx == NONE)
+            return null;
+        int start = buf.getInt(stringOffsetsPos + 4 * idx);
+        int end = buf.getInt(stringOffsetsPos + 4 * (idx + 1));
+        byte[] bytes = new byte[end - start];
+        buf.get(stringDataPos + start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * MATERIALIZE: TravelNode view of one ordinal, parent chain included.
+     * Views are detached: children are not populated (see toTree).
+     * Iterative: climbs to the nearest materialized ancestor, then decodes
+     * downwards, so chain depth is bounded by heap, not by the call stack.
+     */
+    TravelNode node(int ordinal) {
+        TravelNode cached = materialized.get(ordinal);
+        if (cached != null)
+            return cached;
+        int[] pending = new int[8];
+        int count = 0;
+        TravelNode parent = null;
+        for (int o = ordinal; o != NONE; o = field(o, PARENT)) {
+            if ((parent = materialized.get(o)) != null)
+                break;
+            if (count == pending.length)
+                pending = Arrays.copyOf(pending, count * 2);
+            pending[count++] = o;
+        }
+        for (int i = count - 1; i >= 0; i--) {
+            TravelNode n = decode(pending[i]);
+            n.linkView(parent);
+            materialized.compareAndSet(pending[i], null, n);
+            parent = materialized.get(pending[i]); // Another reader may have won the race
+        }
+        return parent;
+    }
+
+    private TravelNode decode(int ord) {
+        NodeDetails details = null;
+        if (field(ord, HAS_DETAILS) == 1) {
+            Guide guide = field(ord, GUIDE_NAME) == NONE ? null
+                    : new Guide(string(field(ord, GUIDE_NAME)), string(field(ord, GUIDE_PHONE)),
+                            string(field(ord, GUIDE_EMAIL)));
+            BookingOption[] bookings = new BookingOption[field(ord, BOOKING_COUNT)];
+            int bookingStart = field(ord, BOOKING_START);
+            for (int b = 0; b < bookings.length; b++) {
+                int pos = bookingsPos + 12 * (bookingStart + b);
+                bookings[b] = new BookingOption(string(buf.getInt(pos)), string(buf.getInt(pos + 4)),
+                        string(buf.getInt(pos + 8)));
+            }
+            details = new NodeDetails(string(field(ord, BEST_SEASON)), string(field(ord, MUST_TRY)),
+                    string(field(ord, ACTIVITIES)), string(field(ord, LOCAL_FOOD)), string(field(ord, HIDDEN_GEM)),
+                    string(field(ord, CLIMATE)), string(field(ord, COORDS)), string(field(ord, RATING)),
+                    string(field(ord, COMPLEXITY)), guide).withBookings(bookings);
+        }
+        String[] tags = new String[field(ord, TAG_COUNT)];
+        int tagStart = field(ord, TAG_START);
+        for (int t = 0; t < tags.length; t++)
+            tags[t] = string(buf.getInt(tagTablePos + 4 * (tagStart + t)));
+        return new TravelNode(string(field(ord, ID)), string(field(ord, LABEL)), string(field(ord, CITY)),
+                string(field(ord, STATE)), string(field(ord, DESCRIPTION)), details,
+                Collections.unmodifiableList(Arrays.asList(tags)));
+    }
+
+    // O(log N) binary search over the id-sorted ordinal section
+    private int ordinalOf(String id) {
+        int lo = 0, hi = nodeCount - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int ord = buf.getInt(idSortedPos + 4 * mid);
+            int cmp = string(field(ord, ID)).compareTo(id);
+            if (cmp == 0)
+                return ord;
+            if (cmp < 0)
+                lo = mid + 1;
+            else
+                hi = mid - 1;
+        }
+        return NONE;
+    }
+
+    public TravelNode findNode(String id) {
+        int ord = ordinalOf(id);
+        return ord == NONE ? null : node(ord);
+    }
+
+    // O(log N + depth): parent ordinals walked straight from the mapping
+    public List<TravelNode> findDiscoveryPath(String targetId) {
+        int ord = ordinalOf(targetId);
+        if (ord == NONE)
+            return null;
+        List<TravelNode> path = new ArrayList<>();
+        for (int o = ord; o != NONE; o = field(o, PARENT))
+            path.add(node(o));
+        Collections.reverse(path);
+        return Collections.unmodifiableList(path);
+    }
+
+    public List<TravelNode> getRecommendations(String currentId, int k) {
+        int ord = ordinalOf(currentId);
+        int pos = ord == NONE ? NONE : field(ord, RING_POS);
+        if (pos == NONE || k <= 0)
+            return new ArrayList<>();
+        int count = Math.min(k, cityCount - 1);
+        List<TravelNode> suggestions = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++)
+            suggestions.add(node(buf.getInt(ringPos + 4 * ((pos + i) % cityCount))));
+        return suggestions;
+    }
+
+    private int trie(int node, int slot) {
+        return buf.getInt(triePos + 16 * node + 4 * slot);
+    }
+
+    // Prefix search over the mapped CompactTrie sections (lexicographic order)
+    public List<TravelNode> search(String prefix) {
+        String key = prefix.toLowerCase();
+        int current = 0;
+        for (int i = 0; i < key.length() && current != NONE; i++) {
+            char ch = key.charAt(i);
+            int c = trie(current, 1);
+            while (c != NONE && trie(c, 0) < ch)
+                c = trie(c, 2);
+            current = (c != NONE && trie(c, 0) == ch) ? c : NONE;
+        }
+        List<TravelNode> results = new ArrayList<>();
+        if (current == NONE)
+            return results;
+        addSameName(trie(current, 3), results);
+        int[] stack = new int[32];
+        int top = 0;
+        if (trie(current, 1) != NONE)
+            stack[top++] = trie(current, 1);
+        while (top > 0) {
+            int n = stack[--top];
+            addSameName(trie(n, 3), results);
+            if (top + 2 > stack.length)
+                stack = Arrays.copyOf(stack, stack.length * 2);
+            if (trie(n, 2) != NONE)
+                stack[top++] = trie(n, 2);
+            if (trie(n, 1) != NONE)
+                stack[top++] = trie(n, 1);
+        }
+        return results;
+    }
+
+    // Every city sharing one Trie word, starting from its first ordinal
+    private void addSameName(int ordinal, List<TravelNode> results) {
+        for (int o = ordinal; o != NONE; o = field(o, NEXT_SAME_NAME))
+            results.add(node(o));
+    }
+
+    /**
+     * FULL REBUILD: Fresh, fully linked tree (for a writable engine).
+     * O(N); pre-order guarantees parents are created before children.
+     */
+    public TravelNode toTree() {
+        TravelNode[] nodes = new TravelNode[nodeCount];
+        for (int ord = 0; ord < nodeCount; ord++) {
+            nodes[ord] = decode(ord);
+            int parent = field(ord, PARENT);
+            if (parent != NONE)
+                nodes[parent].addChild(nodes[ord]);
+        }
+        return nodes[0];
+    }
+
+    public static void main(String[] args) throws IOException {
+        int cities = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        System.out.println("=== DEKHO BHARAT: ENGINE IMAGE vs CONSTRUCTOR COLD START (" + cities + " cities) ===\n");
+
+        TravelNode root = new TravelNode("dekho-india", "DEKHO BHARAT", "Synthetic root.");
+        for (int c = 0; c < 64; c++)
+            root.addChild(new TravelNode("cat-" + c, "Category " + c, "Synthetic category."));
+        for (int i = 0; i < cities; i++)
+            root.children().get(i % 64).addChild(new TravelNode("city-" + i, "City" + Integer.toString(i, 36),
+                    "State-" + (i % 36), "Synthetic.", new NodeDetails("Nov-Feb", "-", "-", "-", "-", "Tropical",
+                            "15.0N", String.valueOf(3 + (i % 20) / 10.0), "0.5", null).withBookings(
+                                    new BookingOption("Heritage Walk", "\u20B9" + (500 + (i % 50) * 100), "Cultural")),
+                    "Tag" + (i % 12)));
+
+        long start = System.nanoTime();
+        DekhoBharatDSA engine = new DekhoBharatDSA(root);
+        double constructorMs = (System.nanoTime() - start) / 1e6;
+
+        Path file = Files.createTempFile("dekho-engine-", ".img");
+        file.toFile().deleteOnExit();
+        start = System.nanoTime();
+        write(engine, file);
+        double writeMs = (System.nanoTime() - start) / 1e6;
+
+        start = System.nanoTime();
+        EngineImage image = open(file);
+        double openMs = (System.nanoTime() - start) / 1e6;
+        start = System.nanoTime();
+        List<TravelNode> path = image.findDiscoveryPath("city-" + (cities / 2));
+        int hits = image.search("city1a").size();
+        double firstQueryMs = (System.nanoTime() - start) / 1e6;
+
+        start = System.nanoTime();
+        DekhoBharatDSA rebuilt = new DekhoBharatDSA(image.toTree());
+        double rebuildMs = (System.nanoTime() - start) / 1e6;
+
+        System.out.printf("Constructor (tree -> snapshot):  %10.1f ms%n", constructorMs);
+        System.out.printf("Image write:                     %10.1f ms (%,d KB)%n", writeMs, Files.size(file) / 1024);
+        System.out.printf("Image open (mmap + validate):    %10.3f ms%n", openMs);
+        System.out.printf("First path + search from image:  %10.3f ms (path depth %d, %d hits)%n", firstQueryMs,
+                path.size(), hits);
+        System.out.printf("Image -> writable engine:        %10.1f ms%n", rebuildMs);
+        if (!engine.search("city1a").get(0).id.equals(image.search("city1a").get(0).id))
+            throw new IllegalStateException("Image search disagrees with engine");
+        if (engine.findBookings("cat-7", "heritage", 0, 1_000).size() != rebuilt.findBookings("cat-7", "heritage", 0,
+                1_000).size())
+            throw new IllegalStateException("Image lost booking options");
+
+        // A parent link pointing forward (here: the last node to itself) must be rejected at open
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            long parentPos = image.nodeTablePos + 4L * (image.nodeCount - 1) * NODE_INTS + 4L * PARENT;
+            channel.write(java.nio.ByteBuffer.allocate(4).putInt(0, image.nodeCount - 1), parentPos);
+        }
+        try {
+            open(file);
+            throw new IllegalStateException("Corrupt parent column was accepted");
+        } catch (IOException expected) {
+            System.out.println("Corrupt image rejected:          " + expected.getMessage());
+        }
+    }
+}
@@ -0,0 +1,265 @@
+import java.lang.management.ManagementFactory;
+import java.util.*;
+import java.util.concurrent.atomic.*;
+import javax.management.*;
+
+/**
+ * ============================================================
+ * DEKHO BHARAT: HOT-PATH METRICS (LATENCY, WORK, RESULT SIZE)
+ * ============================================================
+ *
+ * Per engine operation (search, breadcrumbs, recommendations, ...):
+ * - latency histogram in nanoseconds (log-linear, HdrHistogram style)
+ * - nodes visited: counted by the walk itself into a local int and passed
+ * to stop(), summed in a LongAdder. Trie nodes (prefix path + subtree, or
+ * every node fuzzy search computed a row for), ring slots, neighbour-list
+ * entries, column rows, k-d tree nodes, catalog entries probed and
+ * scanned, Fenwick / segment-tree cells, bitmap words. Precomputed answers
+ * walk nothing: a query-cache hit or a breadcrumb lookup records 0.
+ * - result-size histogram
+ *
+ * Recording is lock-free (AtomicLongArray buckets + LongAdders). When
+ * disabled, an instrumented call costs one volatile read and no
+ * System.nanoTime(). Exposed as a snapshot API (snapshot()) and as the
+ * JMX MBean "dekhobharat:type=EngineMetrics" (see EngineMetricsMBean).
+ * Enable at startup with -Ddekho.metrics=true or at runtime via JMX.
+ */
+
+public class EngineMetrics implements EngineMetricsMBean {
+
+    public enum Operation {
+        SEARCH, SEARCH_TOP_K, FUZZY_SEARCH, DISCOVERY_PATH, RECOMMENDATIONS, SIMILAR, NEARBY, FILTER, RANK, BOOKINGS,
+        SUBTREE, BATCH
+    }
+
+    private static final Operation[] OPERATIONS = Operation.values();
+
+    private volatile boolean enabled = Boolean.getBoolean("dekho.metrics");
+    private final OperationRecorder[] recorders = new OperationRecorder[OPERATIONS.length];
+
+    public EngineMetrics() {
+        for (Operation op : OPERATIONS)
+            recorders[op.ordinal()] = new OperationRecorder();
+    }
+
+    /**
+     * HOT PATH: start() returns 0 while disabled, and stop() ignores a 0
+     * start, so a disabled engine never reads the clock.
+     */
+    long start() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    void stop(Operation op, long start, int nodesVisited, int resultSize) {
+        if (start == 0L)
+            return;
+        recorders[op.ordinal()].record(System.nanoTime() - start, nodesVisited, resultSize);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void reset() {
+        for (OperationRecorder r : recorders)
+            r.reset();
+    }
+
+    // Point-in-time copy of every operation's statistics (buckets read one by one, not atomically)
+    public Map<Operation, OperationStats> snapshot() {
+        Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+        for (Operation op : OPERATIONS)
+            stats.put(op, recorders[op.ordinal()].stats(op));
+        return stats;
+    }
+
+    public OperationStats stats(Operation op) {
+        return recorders[op.ordinal()].stats(op);
+    }
+
+    @Override
+    public long getRecordedCalls() {
+        long total = 0;
+        for (OperationRecorder r : recorders)
+            total += r.latency.count();
+        return total;
+    }
+
+    @Override
+    public String[] getSummary() {
+        List<String> lines = new ArrayList<>();
+        for (OperationStats s : snapshot().values())
+            if (s.count > 0)
+                lines.add(s.toString());
+        return lines.toArray(new String[0]);
+    }
+
+    @Override
+    public double percentileMicros(String operation, double percentile) {
+        Operation op = Operation.valueOf(operation.toUpperCase());
+        return recorders[op.ordinal()].latency.percentile(percentile) / 1_000.0;
+    }
+
+    // Registers this instance with the platform MBean server under the given name
+    public ObjectName registerMBean(String name) throws JMException {
+        ObjectName objectName = new ObjectName("dekhobharat:type=EngineMetrics,name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        return objectName;
+    }
+
+    private static final class OperationRecorder {
+        final LogHistogram latency = new LogHistogram();
+        final LogHistogram resultSize = new LogHistogram();
+        final LongAdder nodesVisited = new LongAdder();
+
+        void record(long nanos, int visited, int results) {
+            latency.record(nanos);
+            resultSize.record(results);
+            nodesVisited.add(visited);
+        }
+
+        void reset() {
+            latency.reset();
+            resultSize.reset();
+            nodesVisited.reset();
+        }
+
+        OperationStats stats(Operation op) {
+            return new OperationStats(op, latency.count(), latency.mean(), latency.percentile(50),
+                    latency.percentile(90), latency.percentile(99), latency.percentile(99.9), latency.max(),
+                    nodesVisited.sum(), resultSize.mean(), resultSize.percentile(50), resultSize.percentile(99),
+                    resultSize.max());
+        }
+    }
+
+    /**
+     * IMMUTABLE VIEW: One operation's counters at snapshot time.
+     * Latencies in nanoseconds, accurate to ~1.6% (bucket width).
+     */
+    public static final class OperationStats {
+        public final Operation operation;
+        public final long count, p50Nanos, p90Nanos, p99Nanos, p999Nanos, maxNanos, nodesVisited;
+        public final long resultP50, resultP99, resultMax;
+        public final double meanNanos, meanResultSize;
+
+        OperationStats(Operation operation, long count, double meanNanos, long p50Nanos, long p90Nanos,
+                long p99Nanos, long p999Nanos, long maxNanos, long nodesVisited, double meanResultSize,
+                long resultP50, long resultP99, long resultMax) {
+            this.operation = operation;
+            this.count = count;
+            this.meanNanos = meanNanos;
+            this.p50Nanos = p50Nanos;
+            this.p90Nanos = p90Nanos;
+            this.p99Nanos = p99Nanos;
+            this.p999Nanos = p999Nanos;
+            this.maxNanos = maxNanos;
+            this.nodesVisited = nodesVisited;
+            this.meanResultSize = meanResultSize;
+            this.resultP50 = resultP50;
+            this.resultP99 = resultP99;
+            this.resultMax = resultMax;
+        }
+
+        public double nodesVisitedPerCall() {
+            return count == 0 ? 0 : (double) nodesVisited / count;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "%-16s n=%,d mean=%.1fus p50=%.1fus p90=%.1fus p99=%.1fus p99.9=%.1fus max=%.1fus"
+                            + " visited/call=%.1f results(mean=%.1f p50=%d p99=%d max=%d)",
+                    operation, count, meanNanos / 1e3, p50Nanos / 1e3, p90Nanos / 1e3, p99Nanos / 1e3,
+                    p999Nanos / 1e3, maxNanos / 1e3, nodesVisitedPerCall(), meanResultSize, resultP50, resultP99,
+                    resultMax);
+        }
+    }
+}
+
+/**
+ * DATA STRUCTURE: LOCK-FREE LOG-LINEAR HISTOGRAM (HdrHistogram layout)
+ * Values below 128 get exact buckets; above that every power of two is
+ * split into 64 linear sub-buckets, so a bucket is at most 1/64 of its
+ * value wide. 3,712 buckets cover every non-negative long.
+ * - record: O(1) [leading-zero count + one atomic increment]
+ * - percentile: O(buckets) scan, off the hot path
+ */
+final class LogHistogram {
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder total = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    static int index(long value) {
+        int shift = Math.max(0, 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS);
+        return (shift << SUB_BUCKET_BITS) + (int) (value >>> shift);
+    }
+
+    // Midpoint of the bucket's value range
+    static long valueAt(int index) {
+        if (index < 2 * SUB_BUCKETS)
+            return index;
+        int shift = (index >> SUB_BUCKET_BITS) - 1;
+        long lowest = (long) (SUB_BUCKETS + (index & (SUB_BUCKETS - 1))) << shift;
+        return lowest + ((1L << shift) >> 1);
+    }
+
+    void record(long value) {
+        if (value < 0)
+            value = 0;
+        counts.incrementAndGet(index(value));
+        total.increment();
+        sum.add(value);
+        long seen = max.get();
+        while (value > seen && !max.compareAndSet(seen, value))
+            seen = max.get();
+    }
+
+    long count() {
+        return total.sum();
+    }
+
+    long max() {
+        return max.get();
+    }
+
+    double mean() {
+        long n = total.sum();
+        return n == 0 ? 0 : (double) sum.sum() / n;
+    }
+
+    long percentile(double percentile) {
+        long n = 0;
+        for (int i = 0; i < BUCKETS; i++)
+            n += counts.get(i);
+        if (n == 0)
+            return 0;
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * n));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank)
+                return Math.min(valueAt(i), max.get());
+        }
+        return max.get();
+    }
+
+    void reset() {
+        for (int i = 0; i < BUCKETS; i++)
+            counts.set(i, 0);
+        total.reset();
+        sum.reset();
+        max.set(0);
+    }
+}
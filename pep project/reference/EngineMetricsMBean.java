@@ -0,0 +1,19 @@
+/**
+ * JMX CONTRACT for EngineMetrics (standard MBean naming: the interface
+ * must be public and named after the implementing class + "MBean").
+ * Attributes: Enabled (read/write), RecordedCalls, Summary.
+ * Operations: reset(), percentileMicros("search", 99.0).
+ */
+public interface EngineMetricsMBean {
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    long getRecordedCalls();
+
+    String[] getSummary();
+
+    double percentileMicros(String operation, double percentile);
+
+    void reset();
+}
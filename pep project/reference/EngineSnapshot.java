@@ -0,0 +1,174 @@
+import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * IMMUTABLE SNAPSHOT: The tree plus every index derived from it.
+ * Built once by a writer, then published through one AtomicReference.
+ * Nothing reachable from a published snapshot is ever mutated again
+ * (node records are immutable, child lists are frozen), so readers need
+ * no locks at all.
+ */
+final class EngineSnapshot {
+    // Quiet period after a publish before its similarity rebuild starts
+    static final long SIMILARITY_DEBOUNCE_MS = 200;
+
+    final long version;
+    final TravelNode root;
+    final Trie searchIndex;
+    final Map<String, TravelNode> idIndex;
+    final Map<String, List<TravelNode>> breadcrumbs;
+    final List<TravelNode> cityRing;
+    final Map<String, Integer> ringIndex;
+    final AttributeIndex attributeIndex;
+    final NodeColumns columns;
+    final GeoIndex geoIndex;
+    final TreeIntervals intervals;
+    final SubtreeAggregates aggregates;
+    final BookingCatalog bookings;
+    // O(N^2) batch job, run off the request path: started on first use or at publish (see followSimilarity)
+    private volatile CompletableFuture<SimilarityIndex> similarity;
+    // Last snapshot with a ready index, served while this one's is still building; cleared when it is done
+    private volatile EngineSnapshot similarityFallback;
+
+    /**
+     * BUILD: Takes ownership of root (callers must not touch it afterwards).
+     * One iterative pre-order pass fills the id index, breadcrumbs, Trie and ring.
+     * A non-null prebuiltIndex (e.g. filled while streaming a file) is adopted
+     * as-is instead of re-inserting every city; likewise intervals and
+     * aggregates carried over from an edit batch that kept the tree's shape.
+     */
+    EngineSnapshot(TravelNode root, long version) {
+        this(root, null, version);
+    }
+
+    EngineSnapshot(TravelNode root, Trie prebuiltIndex, long version) {
+        this(root, prebuiltIndex, null, null, version);
+    }
+
+    EngineSnapshot(TravelNode root, Trie prebuiltIndex, TreeIntervals prebuiltIntervals,
+            SubtreeAggregates prebuiltAggregates, long version) {
+        this.version = version;
+        this.root = root;
+        this.searchIndex = prebuiltIndex != null ? prebuiltIndex : new Trie();
+        Map<String, TravelNode> ids = new HashMap<>();
+        Map<String, List<TravelNode>> paths = new HashMap<>();
+        List<TravelNode> ring = new ArrayList<>();
+        Map<String, Integer> positions = new HashMap<>();
+
+        TreeWalker.walk(root, (node, walk) -> {
+            node.freeze();
+            ids.put(node.id, node);
+            paths.put(node.id, pathByParentWalk(node));
+            if (node.city != null) {
+                if (prebuiltIndex == null)
+                    searchIndex.insert(node);
+                positions.put(node.id, ring.size());
+                ring.add(node);
+            }
+            return TraversalControl.CONTINUE;
+        });
+
+        idIndex = Collections.unmodifiableMap(ids);
+        breadcrumbs = Collections.unmodifiableMap(paths);
+        cityRing = Collections.unmodifiableList(ring);
+        ringIndex = Collections.unmodifiableMap(positions);
+        // Inverted attribute index (ordinals = ring positions)
+        attributeIndex = new AttributeIndex(cityRing);
+        // Primitive rating/complexity/coords/season columns (same ordinals)
+        columns = new NodeColumns(cityRing);
+        // Spatial k-d tree over the parsed coordinates
+        geoIndex = new GeoIndex(columns);
+        // Pre-order [enter, exit) numbering: subtrees become contiguous ranges
+        intervals = prebuiltIntervals != null ? prebuiltIntervals : new TreeIntervals(root);
+        // Count / max rating / complexity sums over those ranges
+        aggregates = prebuiltAggregates != null ? prebuiltAggregates : new SubtreeAggregates(columns);
+        // Engine-wide booking options, price-sorted, filtered by those ranges
+        bookings = new BookingCatalog(cityRing, intervals);
+    }
+
+    // O(depth): climb parent links to the root, then reverse
+    private static List<TravelNode> pathByParentWalk(TravelNode node) {
+        List<TravelNode> path = new ArrayList<>();
+        for (TravelNode n = node; n != null; n = n.parent())
+            path.add(n);
+        Collections.reverse(path);
+        return Collections.unmodifiableList(path);
+    }
+
+    // Starts the neighbour batch on the build pool (once, right away) and returns its future
+    CompletableFuture<SimilarityIndex> similarityBuild() {
+        CompletableFuture<SimilarityIndex> build = similarity;
+        if (build == null) {
+            synchronized (this) {
+                build = similarity;
+                if (build == null)
+                    similarity = build = CompletableFuture.supplyAsync(() -> new SimilarityIndex(cityRing, columns,
+                            SimilarityIndex.BUILD_POOL), SimilarityIndex.BUILD_POOL);
+            }
+        }
+        return build;
+    }
+
+    // Blocks until this snapshot's index is built
+    SimilarityIndex similarity() {
+        SimilarityIndex index = similarityBuild().join();
+        if (index == null) { // Background build skipped or cancelled (superseded) but this snapshot is still read
+            synchronized (this) {
+                index = similarityIfReady();
+                if (index == null)
+                    similarity = CompletableFuture.completedFuture(
+                            index = new SimilarityIndex(cityRing, columns, SimilarityIndex.BUILD_POOL));
+            }
+        }
+        return index;
+    }
+
+    // This snapshot's index if already built, else null; never blocks
+    SimilarityIndex similarityIfReady() {
+        CompletableFuture<SimilarityIndex> build = similarity;
+        return build != null && build.isDone() && !build.isCompletedExceptionally() ? build.getNow(null) : null;
+    }
+
+    EngineSnapshot similarityFallback() {
+        return similarityFallback;
+    }
+
+    /**
+     * PUBLISH HOOK: If the previous snapshot served similarity, this one
+     * schedules its index build and, until that is done, points readers at
+     * the newest snapshot whose index is ready. The fallback chain is at
+     * most one snapshot long. A burst of edits costs one batch, not one per
+     * version:
+     * - DEBOUNCE: the build starts SIMILARITY_DEBOUNCE_MS after the publish
+     * and is skipped if a newer version appeared in the meantime;
+     * - CANCEL: a build already running polls superseded per city row and
+     * stops as soon as a newer version is published.
+     * Both end the future with null; similarity() rebuilds on demand if
+     * someone still reads this snapshot.
+     */
+    void followSimilarity(EngineSnapshot previous, BooleanSupplier superseded) {
+        if (previous.similarity == null)
+            return; // Similarity never used on this engine: stay lazy
+        similarityFallback = previous.similarityIfReady() != null ? previous : previous.similarityFallback;
+        CompletableFuture<SimilarityIndex> build = CompletableFuture.supplyAsync(() -> {
+            if (superseded.getAsBoolean())
+                return null;
+            try {
+                return new SimilarityIndex(cityRing, columns, SimilarityIndex.BUILD_POOL, superseded);
+            } catch (CancellationException newerVersion) {
+                return null;
+            }
+        }, CompletableFuture.delayedExecutor(SIMILARITY_DEBOUNCE_MS, TimeUnit.MILLISECONDS,
+                SimilarityIndex.BUILD_POOL));
+        synchronized (this) {
+            similarity = build;
+        }
+        build.whenComplete((index, error) -> {
+            if (index != null)
+                similarityFallback = null;
+        });
+    }
+}
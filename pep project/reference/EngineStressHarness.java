@@ -0,0 +1,134 @@
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * ============================================================
+ * ANALYSIS: CONCURRENT READ THROUGHPUT UNDER LIVE UPDATES
+ * ============================================================
+ *
+ * Reader threads hammer search / breadcrumb / recommendation calls while a
+ * writer keeps publishing batched copy-on-write updates. Reports read
+ * throughput per reader count so the scaling curve is visible, and fails
+ * loudly if any reader ever observes a half-built snapshot.
+ *
+ * Compile together with the engine:
+ * javac DekhoBharatDSA.java EngineStressHarness.java
+ * java EngineStressHarness [cityCount] [secondsPerRun]
+ */
+
+public class EngineStressHarness {
+
+    private static final String[] PREFIXES = { "a", "ka", "ma", "pur", "sh", "ta", "ve", "zi" };
+
+    static TravelNode syntheticTree(int cityCount, int categories) {
+        Random rnd = new Random(7);
+        TravelNode root = new TravelNode("dekho-india", "DEKHO BHARAT", "Synthetic root.");
+        List<TravelNode> cats = new ArrayList<>();
+        for (int c = 0; c < categories; c++) {
+            TravelNode cat = new TravelNode("cat-" + c, "Category " + c, "Synthetic category.");
+            cats.add(cat);
+            root.addChild(cat);
+        }
+        for (int i = 0; i < cityCount; i++) {
+            String name = PREFIXES[rnd.nextInt(PREFIXES.length)] + Integer.toString(i, 36);
+            cats.get(i % categories).addChild(new TravelNode("city-" + i, name, "State-" + (i % 36),
+                    "Synthetic.", new NodeDetails("Nov-Feb", "-", "-", "-", "-", "Tropical", "15.0N",
+                            String.valueOf(3 + rnd.nextInt(20) / 10.0), "0.5", null),
+                    "Tag" + (i % 12)));
+        }
+        return root;
+    }
+
+    private static long runReaders(DekhoBharatDSA engine, int readers, int cityCount, long millis)
+            throws InterruptedException {
+        AtomicBoolean running = new AtomicBoolean(true);
+        LongAdder reads = new LongAdder();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+
+        for (int t = 0; t < readers; t++) {
+            final int seed = t;
+            Thread reader = new Thread(() -> {
+                Random rnd = new Random(seed);
+                long local = 0;
+                try {
+                    start.await();
+                    while (running.get()) {
+                        String id = "city-" + rnd.nextInt(cityCount);
+                        List<TravelNode> path = engine.findDiscoveryPath(id);
+                        if (path == null || path.size() != 3)
+                            throw new IllegalStateException("Torn read: bad path for " + id);
+                        if (engine.getRecommendations(id, 3).size() != 3)
+                            throw new IllegalStateException("Torn read: bad ring for " + id);
+                        engine.search(PREFIXES[rnd.nextInt(PREFIXES.length)], 5);
+                        local += 3;
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    reads.add(local);
+                }
+            });
+            threads.add(reader);
+            reader.start();
+        }
+
+        start.countDown();
+        Thread.sleep(millis);
+        running.set(false);
+        for (Thread t : threads)
+            t.join();
+        if (failure.get() != null)
+            throw new IllegalStateException("Reader failed", failure.get());
+        return reads.sum() * 1000 / millis;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int cityCount = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        long millis = (args.length > 1 ? Integer.parseInt(args[1]) : 2) * 1000L;
+        int cores = Runtime.getRuntime().availableProcessors();
+        System.out.println("=== DEKHO BHARAT: CONCURRENT ENGINE STRESS (" + cityCount + " cities, " + cores
+                + " cores) ===\n");
+
+        DekhoBharatDSA engine = new DekhoBharatDSA(syntheticTree(cityCount, 16));
+
+        // WRITER: one batch of 50 new cities every 100 ms, each batch one snapshot swap
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicInteger added = new AtomicInteger();
+        Thread writer = new Thread(() -> {
+            while (writing.get()) {
+                engine.update(root -> {
+                    TravelNode category = root.children().get(added.get() % root.children().size());
+                    for (int i = 0; i < 50; i++) {
+                        int n = added.getAndIncrement();
+                        category.addChild(new TravelNode("live-" + n, "Live" + n, "State", "Added at runtime.",
+                                null));
+                    }
+                });
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+        writer.start();
+
+        long baseline = 0;
+        for (int readers = 1; readers <= Math.max(1, cores - 1); readers *= 2) {
+            long throughput = runReaders(engine, readers, cityCount, millis);
+            if (baseline == 0)
+                baseline = throughput;
+            System.out.printf("readers=%2d  reads/s=%,12d  speedup=%5.2fx%n", readers, throughput,
+                    (double) throughput / baseline);
+        }
+
+        writing.set(false);
+        writer.join();
+        System.out.println("\nSnapshots published: " + (engine.version() - 1) + " | cities added live: "
+                + added.get() + " | torn reads: 0");
+        System.out.println("(One core is reserved for the writer; speedup is measured against 1 reader.)");
+    }
+}
@@ -0,0 +1,178 @@
+import java.util.*;
+
+/**
+ * DATA STRUCTURE: GEO-SPATIAL K-D TREE (nearest destinations)
+ * Cities with both coordinates are mapped onto the unit sphere (x, y, z)
+ * and stored as an implicit, balanced 3-d tree (median of each range at its
+ * midpoint). Straight-line chord distance is monotonic in great-circle
+ * distance, so the tree prunes exactly without haversine in the inner loop.
+ * - Build: O(N log N) expected (quickselect per level)
+ * - kNN / radius query: O(log N + k) typical
+ */
+final class GeoIndex {
+    static final double EARTH_RADIUS_KM = 6371.0;
+
+    private final int[] tree; // City ordinals in k-d order
+    private final double[] x, y, z; // Unit vectors, indexed by city ordinal
+
+    GeoIndex(NodeColumns columns) {
+        int n = columns.size();
+        x = new double[n];
+        y = new double[n];
+        z = new double[n];
+        int[] located = new int[n];
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            double lat = columns.latitude[i], lon = columns.longitude[i];
+            if (Double.isNaN(lat) || Double.isNaN(lon))
+                continue; // Not placeable on the map
+            double phi = Math.toRadians(lat), lambda = Math.toRadians(lon);
+            x[i] = Math.cos(phi) * Math.cos(lambda);
+            y[i] = Math.cos(phi) * Math.sin(lambda);
+            z[i] = Math.sin(phi);
+            located[count++] = i;
+        }
+        tree = Arrays.copyOf(located, count);
+        build(0, tree.length, 0);
+    }
+
+    int size() {
+        return tree.length;
+    }
+
+    private double axis(int ordinal, int dim) {
+        return dim == 0 ? x[ordinal] : dim == 1 ? y[ordinal] : z[ordinal];
+    }
+
+    private void build(int lo, int hi, int dim) {
+        if (hi - lo <= 1)
+            return;
+        int mid = (lo + hi) >>> 1;
+        select(lo, hi - 1, mid, dim);
+        build(lo, mid, (dim + 1) % 3);
+        build(mid + 1, hi, (dim + 1) % 3);
+    }
+
+    // Quickselect: afterwards tree[k] is the median of [lo, hi] along dim
+    private void select(int lo, int hi, int k, int dim) {
+        while (lo < hi) {
+            double pivot = axis(tree[(lo + hi) >>> 1], dim);
+            int i = lo, j = hi;
+            while (i <= j) {
+                while (axis(tree[i], dim) < pivot)
+                    i++;
+                while (axis(tree[j], dim) > pivot)
+                    j--;
+                if (i <= j) {
+                    int t = tree[i];
+                    tree[i++] = tree[j];
+                    tree[j--] = t;
+                }
+            }
+            if (k <= j)
+                hi = j;
+            else if (k >= i)
+                lo = i;
+            else
+                return;
+        }
+    }
+
+    static double chordToKm(double chord) {
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, chord / 2));
+    }
+
+    private static double kmToChord(double km) {
+        return km >= Math.PI * EARTH_RADIUS_KM ? 2.0 : 2 * Math.sin(km / (2 * EARTH_RADIUS_KM));
+    }
+
+    /**
+     * QUERY: Up to k city ordinals nearest to the given city ordinal within
+     * radiusKm (Double.POSITIVE_INFINITY for plain kNN), closest first.
+     * The city itself is excluded; unlocated cities return an empty array.
+     * k is clamped to the other located cities, so k = Integer.MAX_VALUE
+     * sizes the candidate arrays by the map, not by the request.
+     * visited[0] += k-d tree nodes the search examined.
+     */
+    int[] nearest(int ordinal, int k, double radiusKm, int[] visited) {
+        k = Math.min(k, tree.length - 1);
+        if (k <= 0 || !located(ordinal))
+            return new int[0];
+        double limit = kmToChord(radiusKm);
+        Neighbours best = new Neighbours(k, limit * limit);
+        search(0, tree.length, 0, x[ordinal], y[ordinal], z[ordinal], ordinal, best);
+        visited[0] += best.visited;
+        return best.sortedOrdinals();
+    }
+
+    // Placed cities are unit vectors; unplaced ones stay at the origin
+    private boolean located(int ordinal) {
+        return x[ordinal] != 0 || y[ordinal] != 0 || z[ordinal] != 0;
+    }
+
+    private void search(int lo, int hi, int dim, double qx, double qy, double qz, int exclude, Neighbours best) {
+        if (lo >= hi)
+            return;
+        int mid = (lo + hi) >>> 1;
+        int ord = tree[mid];
+        best.visited++;
+        if (ord != exclude) {
+            double dx = x[ord] - qx, dy = y[ord] - qy, dz = z[ord] - qz;
+            best.offer(ord, dx * dx + dy * dy + dz * dz);
+        }
+        double q = dim == 0 ? qx : dim == 1 ? qy : qz;
+        double delta = q - axis(ord, dim);
+        int next = (dim + 1) % 3;
+        // Near side first, far side only if the splitting plane is within reach
+        if (delta < 0) {
+            search(lo, mid, next, qx, qy, qz, exclude, best);
+            if (delta * delta <= best.bound())
+                search(mid + 1, hi, next, qx, qy, qz, exclude, best);
+        } else {
+            search(mid + 1, hi, next, qx, qy, qz, exclude, best);
+            if (delta * delta <= best.bound())
+                search(lo, mid, next, qx, qy, qz, exclude, best);
+        }
+    }
+
+    double distanceKm(int a, int b) {
+        double dx = x[a] - x[b], dy = y[a] - y[b], dz = z[a] - z[b];
+        return chordToKm(Math.sqrt(dx * dx + dy * dy + dz * dz));
+    }
+
+    // Bounded candidate set: k closest so far, kept sorted by squared chord
+    private static final class Neighbours {
+        final int[] ordinals;
+        final double[] dist2;
+        final double radius2;
+        int size = 0;
+        int visited = 0; // Tree nodes examined
+
+        Neighbours(int k, double radius2) {
+            ordinals = new int[k];
+            dist2 = new double[k];
+            this.radius2 = radius2;
+        }
+
+        double bound() {
+            return size == ordinals.length ? Math.min(radius2, dist2[size - 1]) : radius2;
+        }
+
+        void offer(int ordinal, double d2) {
+            if (d2 > bound() || (size == ordinals.length && d2 == dist2[size - 1]))
+                return;
+            int pos = size == ordinals.length ? size - 1 : size++;
+            while (pos > 0 && dist2[pos - 1] > d2) {
+                ordinals[pos] = ordinals[pos - 1];
+                dist2[pos] = dist2[pos - 1];
+                pos--;
+            }
+            ordinals[pos] = ordinal;
+            dist2[pos] = d2;
+        }
+
+        int[] sortedOrdinals() {
+            return Arrays.copyOf(ordinals, size);
+        }
+    }
+}
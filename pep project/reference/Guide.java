@@ -0,0 +1,9 @@
+public final class Guide {
+    final String name, phone, email;
+
+    public Guide(String n, String p, String e) {
+        this.name = n;
+        this.phone = p;
+        this.email = e;
+    }
+}
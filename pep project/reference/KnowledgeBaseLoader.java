@@ -0,0 +1,208 @@
+import java.io.*;
+import java.lang.management.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.function.LongConsumer;
+
+/**
+ * ============================================================
+ * DEKHO BHARAT: STREAMING KNOWLEDGE BASE LOADER (CSV)
+ * ============================================================
+ *
+ * Builds the N-ary TravelNode tree and the Trie incrementally, one CSV
+ * record at a time, so destinations can ship as data instead of
+ * constructor calls. The document is never held in memory: each record
+ * goes straight into a TravelTreeBuilder (parent resolution, string
+ * interning, Trie insertion), the same path the built-in dataset takes.
+ *
+ * FORMAT (header row required, RFC 4180 quoting, tags separated by '|'):
+ * id,parent_id,city,label,state,description,best_season,must_try,activities,
+ * local_food,hidden_gem,climate,coords,rating,complexity,guide_name,
+ * guide_phone,guide_email,tags
+ *
+ * - Exactly one root row (empty parent_id); parents must precede children.
+ * - Category rows leave city empty; city rows leave label empty.
+ * - Duplicate ids, unknown parents and malformed rows fail with the line number.
+ * - Booking options are not part of the format; loaded cities have none.
+ *
+ * Compile together with the engine:
+ * javac DekhoBharatDSA.java KnowledgeBaseLoader.java
+ * java KnowledgeBaseLoader data/destinations.csv
+ * java -Xmx2g KnowledgeBaseLoader --synthetic 1000000
+ */
+
+public class KnowledgeBaseLoader {
+
+    static final String HEADER = "id,parent_id,city,label,state,description,best_season,must_try,activities,"
+            + "local_food,hidden_gem,climate,coords,rating,complexity,guide_name,guide_phone,guide_email,tags";
+    private static final int COLUMNS = 19;
+    static final long PROGRESS_INTERVAL = 100_000;
+
+    private final TravelTreeBuilder builder = new TravelTreeBuilder();
+    private final LongConsumer progress;
+    private long rows = 0;
+
+    private KnowledgeBaseLoader(LongConsumer progress) {
+        this.progress = progress;
+    }
+
+    public static DekhoBharatDSA load(Path file) throws IOException {
+        return load(file, rows -> System.out.printf("[LOADER] %,d rows loaded...%n", rows));
+    }
+
+    /**
+     * STREAMING LOAD: O(N) time, O(record) buffering beyond the tree itself.
+     * progress receives the running row count every PROGRESS_INTERVAL rows.
+     */
+    public static DekhoBharatDSA load(Path file, LongConsumer progress) throws IOException {
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return load(in, progress);
+        }
+    }
+
+    public static DekhoBharatDSA load(BufferedReader in, LongConsumer progress) throws IOException {
+        KnowledgeBaseLoader loader = new KnowledgeBaseLoader(progress);
+        loader.readAll(in);
+        return loader.builder.build();
+    }
+
+    private void readAll(BufferedReader in) throws IOException {
+        LineNumberReader lines = new LineNumberReader(in);
+        List<String> header = readRecord(lines);
+        if (header == null || !String.join(",", header).trim().equalsIgnoreCase(HEADER))
+            throw new IllegalArgumentException("line 1: expected header '" + HEADER + "'");
+
+        List<String> record;
+        while ((record = readRecord(lines)) != null) {
+            if (record.size() == 1 && record.get(0).isEmpty())
+                continue; // Blank line
+            addRecord(record, lines.getLineNumber());
+            if (++rows % PROGRESS_INTERVAL == 0 && progress != null)
+                progress.accept(rows);
+        }
+        if (!builder.hasRoot())
+            throw new IllegalArgumentException("No root row (empty parent_id) found");
+        if (progress != null && rows % PROGRESS_INTERVAL != 0)
+            progress.accept(rows);
+    }
+
+    private void addRecord(List<String> f, int line) {
+        if (f.size() != COLUMNS)
+            throw new IllegalArgumentException("line " + line + ": expected " + COLUMNS + " columns, got " + f.size());
+        String id = f.get(0), parentId = f.get(1), city = f.get(2);
+        try {
+            if (city.isEmpty()) {
+                builder.category(parentId.isEmpty() ? null : parentId, id, f.get(3), f.get(5));
+            } else {
+                Guide guide = f.get(15).isEmpty() ? null : new Guide(f.get(15), f.get(16), f.get(17));
+                NodeDetails details = new NodeDetails(f.get(6), f.get(7), f.get(8), f.get(9), f.get(10), f.get(11),
+                        f.get(12), f.get(13), f.get(14), guide);
+                String[] tags = f.get(18).isEmpty() ? new String[0] : f.get(18).split("\\|");
+                for (int i = 0; i < tags.length; i++)
+                    tags[i] = tags[i].trim();
+                builder.city(parentId.isEmpty() ? null : parentId, id, city, f.get(4), f.get(5), details, tags);
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("line " + line + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * CSV RECORD: One RFC 4180 record; quoted fields may contain commas,
+     * doubled quotes and line breaks. Returns null at end of input.
+     */
+    static List<String> readRecord(BufferedReader in) throws IOException {
+        String line = in.readLine();
+        if (line == null)
+            return null;
+        List<String> fields = new ArrayList<>(COLUMNS);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+        while (true) {
+            if (i == line.length()) {
+                if (!quoted)
+                    break;
+                line = in.readLine(); // Quoted field spans lines
+                if (line == null)
+                    throw new IllegalArgumentException("Unterminated quoted field at end of input");
+                field.append('\n');
+                i = 0;
+                continue;
+            }
+            char c = line.charAt(i++);
+            if (quoted) {
+                if (c == '"' && i < line.length() && line.charAt(i) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    // Synthetic file for the 1M-node acceptance run: root -> 64 categories -> cities
+    private static void writeSynthetic(Path file, int cities) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write(HEADER);
+            out.newLine();
+            out.write("dekho-india,,,DEKHO BHARAT,,Synthetic root.,,,,,,,,,,,,,");
+            out.newLine();
+            for (int c = 0; c < 64; c++) {
+                out.write("cat-" + c + ",dekho-india,,Category " + c + ",,Synthetic category.,,,,,,,,,,,,,");
+                out.newLine();
+            }
+            for (int i = 0; i < cities; i++) {
+                out.write("city-" + i + ",cat-" + (i % 64) + ",City" + Integer.toString(i, 36) + ",,State-" + (i % 36)
+                        + ",\"Synthetic, generated.\",Nov-Feb,-,-,-,-,Tropical,15.0N," + (3 + (i % 20) / 10.0)
+                        + ",0.5,Guide,000,g@d.in,Tag" + (i % 12) + "|Beach");
+                out.newLine();
+            }
+        }
+    }
+
+    private static long peakHeapBytes() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans())
+            if (pool.getType() == MemoryType.HEAP)
+                peak += pool.getPeakUsage().getUsed();
+        return peak;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path file;
+        if (args.length > 1 && args[0].equals("--synthetic")) {
+            int cities = Integer.parseInt(args[1]);
+            file = Files.createTempFile("dekho-kb-", ".csv");
+            file.toFile().deleteOnExit();
+            writeSynthetic(file, cities);
+            System.out.printf("Generated %,d-city CSV (%,d KB) at %s%n", cities, Files.size(file) / 1024, file);
+        } else {
+            file = Path.of(args.length > 0 ? args[0] : "data/destinations.csv");
+        }
+
+        System.gc();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans())
+            pool.resetPeakUsage();
+        long start = System.nanoTime();
+        DekhoBharatDSA engine = load(file);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.printf("Loaded %s in %,d ms | peak heap %,d MB | snapshot version %d%n", file.getFileName(),
+                millis, peakHeapBytes() / (1024 * 1024), engine.version());
+        System.out.println("Sample search 'g': " + engine.search("g", 3).size() + " top results");
+    }
+}
@@ -0,0 +1,105 @@
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * DATA STRUCTURE: COLUMNAR CITY ATTRIBUTES (struct-of-arrays)
+ * NodeDetails keeps rating, complexity, coords and season as Strings; this
+ * store parses them once into primitive columns indexed by city ordinal
+ * (ring position). Ranking and filtering then run as tight loops over
+ * float/double/int arrays with no parsing, boxing or pointer chasing.
+ */
+final class NodeColumns {
+    private static final Pattern COORD = Pattern.compile("(\\d+(?:\\.\\d+)?)\\s*\u00B0?\\s*([NSEWnsew])");
+
+    final float[] rating;
+    final float[] complexity;
+    final double[] latitude; // NaN when coords lack a N/S component
+    final double[] longitude; // NaN when coords lack an E/W component
+    final int[] seasonMask; // SeasonMonths bitmask
+
+    NodeColumns(List<TravelNode> cities) {
+        int n = cities.size();
+        rating = new float[n];
+        complexity = new float[n];
+        latitude = new double[n];
+        longitude = new double[n];
+        seasonMask = new int[n];
+        for (int i = 0; i < n; i++) {
+            NodeDetails d = cities.get(i).details;
+            rating[i] = cities.get(i).ratingValue();
+            complexity[i] = d == null ? 0f : parseFloat(d.complexityIdx);
+            latitude[i] = parseCoordinate(d == null ? null : d.coords, 'N', 'S');
+            longitude[i] = parseCoordinate(d == null ? null : d.coords, 'E', 'W');
+            seasonMask[i] = d == null ? 0 : SeasonMonths.mask(d.bestSeason);
+        }
+    }
+
+    int size() {
+        return rating.length;
+    }
+
+    static float parseFloat(String value) {
+        try {
+            return value == null ? 0f : Float.parseFloat(value.trim());
+        } catch (NumberFormatException e) {
+            return 0f;
+        }
+    }
+
+    /**
+     * PARSER: "30.0N", "34.15\u00B0N" or "30.0869\u00B0 N, 78.2676\u00B0 E".
+     * Returns the signed component for the given hemisphere pair, else NaN.
+     */
+    static double parseCoordinate(String coords, char positive, char negative) {
+        if (coords == null)
+            return Double.NaN;
+        Matcher m = COORD.matcher(coords);
+        while (m.find()) {
+            char hemisphere = Character.toUpperCase(m.group(2).charAt(0));
+            if (hemisphere == positive)
+                return Double.parseDouble(m.group(1));
+            if (hemisphere == negative)
+                return -Double.parseDouble(m.group(1));
+        }
+        return Double.NaN;
+    }
+
+    /**
+     * FILTER PASS: rating >= minRating, complexity <= maxComplexity, and in
+     * season for every month of requiredMonths. Branch-free bit building
+     * straight into BitSet words, so it composes with AttributeIndex results.
+     */
+    BitSet filter(float minRating, float maxComplexity, int requiredMonths) {
+        long[] words = new long[(size() + 63) >>> 6];
+        for (int i = 0; i < rating.length; i++) {
+            boolean match = rating[i] >= minRating & complexity[i] <= maxComplexity
+                    & (seasonMask[i] & requiredMonths) == requiredMonths;
+            words[i >>> 6] |= (match ? 1L : 0L) << i;
+        }
+        return BitSet.valueOf(words);
+    }
+
+    /**
+     * RANKING PASS: Ordinals of the k highest ratings among candidates
+     * (null = all cities), best first; ties keep ring order. O(N * k) with k small.
+     */
+    int[] topRated(int k, BitSet candidates) {
+        int[] best = new int[Math.max(0, Math.min(k, size()))];
+        int filled = 0;
+        for (int i = 0; i < rating.length; i++) {
+            if (candidates != null && !candidates.get(i))
+                continue;
+            float r = rating[i];
+            if (filled == best.length && (best.length == 0 || r <= rating[best[filled - 1]]))
+                continue;
+            int pos = filled == best.length ? filled - 1 : filled++;
+            while (pos > 0 && rating[best[pos - 1]] < r) {
+                best[pos] = best[pos - 1];
+                pos--;
+            }
+            best[pos] = i;
+        }
+        return filled == best.length ? best : Arrays.copyOf(best, filled);
+    }
+}
@@ -0,0 +1,69 @@
+import java.util.*;
+import java.util.function.UnaryOperator;
+
+/**
+ * IMMUTABLE RECORD: Published snapshots share details, so nothing here
+ * changes after construction; edits go through the with*() copies.
+ */
+public final class NodeDetails {
+    final String bestSeason, mustTry, activities, localFood, hiddenGem, climate, coords, rating, complexityIdx;
+    final Guide guide;
+    final List<BookingOption> bookingOptions; // Unmodifiable
+
+    public NodeDetails(String bs, String mt, String act, String food, String gem, String clim, String crd, String rat,
+            String comp, Guide g) {
+        this(bs, mt, act, food, gem, clim, crd, rat, comp, g, Collections.emptyList());
+    }
+
+    private NodeDetails(String bs, String mt, String act, String food, String gem, String clim, String crd,
+            String rat, String comp, Guide g, List<BookingOption> bookings) {
+        this.bestSeason = bs;
+        this.mustTry = mt;
+        this.activities = act;
+        this.localFood = food;
+        this.hiddenGem = gem;
+        this.climate = clim;
+        this.coords = crd;
+        this.rating = rat;
+        this.complexityIdx = comp;
+        this.guide = g;
+        this.bookingOptions = bookings;
+    }
+
+    // Inline attachment while building the tree: new NodeDetails(...).withBookings(...)
+    public NodeDetails withBookings(BookingOption... options) {
+        List<BookingOption> all = new ArrayList<>(bookingOptions.size() + options.length);
+        all.addAll(bookingOptions);
+        all.addAll(Arrays.asList(options));
+        return withBookingList(all);
+    }
+
+    public NodeDetails withoutBookings() {
+        return withBookingList(Collections.emptyList());
+    }
+
+    public NodeDetails withRating(String rat) {
+        return new NodeDetails(bestSeason, mustTry, activities, localFood, hiddenGem, climate, coords, rat,
+                complexityIdx, guide, bookingOptions);
+    }
+
+    public NodeDetails withComplexity(String comp) {
+        return new NodeDetails(bestSeason, mustTry, activities, localFood, hiddenGem, climate, coords, rating, comp,
+                guide, bookingOptions);
+    }
+
+    // Same values with the repetitive strings pooled (TravelTreeBuilder)
+    NodeDetails interned(UnaryOperator<String> intern) {
+        List<BookingOption> bookings = new ArrayList<>(bookingOptions.size());
+        for (BookingOption b : bookingOptions)
+            bookings.add(new BookingOption(b.activity, intern.apply(b.price), intern.apply(b.type)));
+        return new NodeDetails(intern.apply(bestSeason), mustTry, activities, localFood, hiddenGem,
+                intern.apply(climate), coords, intern.apply(rating), intern.apply(complexityIdx), guide,
+                Collections.unmodifiableList(bookings));
+    }
+
+    private NodeDetails withBookingList(List<BookingOption> bookings) {
+        return new NodeDetails(bestSeason, mustTry, activities, localFood, hiddenGem, climate, coords, rating,
+                complexityIdx, guide, Collections.unmodifiableList(bookings));
+    }
+}
@@ -0,0 +1,216 @@
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * ============================================================
+ * DEKHO BHARAT: BOUNDED QUERY CACHE (LRU + TinyLFU ADMISSION)
+ * ============================================================
+ *
+ * Sits in front of the engine's read calls. Autocomplete traffic is
+ * heavily skewed ("go", "le", "ri"), so hot answers are kept and served in
+ * O(1) without touching the Trie or allocating.
+ *
+ * - EVICTION: per-segment access-ordered LinkedHashMap (LRU victim).
+ * - ADMISSION (TinyLFU): a 4-row count-min sketch of counters capped at 15
+ * estimates how often every key was requested; a new entry only replaces
+ * the LRU victim if it is requested more often, so one-off prefixes
+ * cannot flush the hot set. Counters are halved every 10 x capacity
+ * requests so popularity ages out.
+ * - CONCURRENCY: 16 segments, each guarded by its own monitor; the value
+ * is computed outside the lock.
+ * - INVALIDATION: every entry belongs to one tree version. A request with
+ * a newer version clears the segment (the sketch is kept: popularity
+ * survives updates); requests from older snapshots bypass the cache.
+ *
+ * Values are shared between callers and must be immutable.
+ */
+
+final class QueryCache<K, V> {
+
+    private static final int SEGMENTS = 16;
+
+    private final Segment<K, V>[] segments;
+    private final int capacity;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    QueryCache(int capacity) {
+        this.capacity = capacity;
+        segments = (Segment<K, V>[]) new Segment<?, ?>[SEGMENTS];
+        int perSegment = Math.max(1, (capacity + SEGMENTS - 1) / SEGMENTS);
+        for (int i = 0; i < SEGMENTS; i++)
+            segments[i] = new Segment<>(perSegment);
+    }
+
+    /**
+     * READ-THROUGH: Cached value for key at this tree version, else
+     * loader.apply(key), offered to the cache through the admission filter.
+     */
+    V get(K key, long version, Function<K, V> loader) {
+        int hash = spread(key.hashCode());
+        Segment<K, V> seg = segments[hash & (SEGMENTS - 1)];
+        synchronized (seg) {
+            seg.advance(version);
+            seg.sketch.increment(hash);
+            if (version == seg.version) {
+                V cached = seg.map.get(key);
+                if (cached != null) {
+                    hits.increment();
+                    return cached;
+                }
+            }
+        }
+        misses.increment();
+        V value = loader.apply(key);
+        if (value != null)
+            admit(seg, key, hash, version, value);
+        return value;
+    }
+
+    private void admit(Segment<K, V> seg, K key, int hash, long version, V value) {
+        synchronized (seg) {
+            seg.advance(version);
+            if (version != seg.version || seg.map.containsKey(key))
+                return;
+            if (seg.map.size() >= seg.capacity) {
+                K victim = seg.map.keySet().iterator().next(); // Eldest in access order
+                if (seg.sketch.frequency(hash) <= seg.sketch.frequency(spread(victim.hashCode()))) {
+                    rejections.increment(); // Colder than what it would displace
+                    return;
+                }
+                seg.map.remove(victim);
+                evictions.increment();
+            }
+            seg.map.put(key, value);
+        }
+    }
+
+    public void clear() {
+        for (Segment<K, V> seg : segments) {
+            synchronized (seg) {
+                seg.map.clear();
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> seg : segments) {
+            synchronized (seg) {
+                size += seg.map.size();
+            }
+        }
+        return size;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    public long rejections() {
+        return rejections.sum();
+    }
+
+    public double hitRate() {
+        long h = hits.sum(), total = h + misses.sum();
+        return total == 0 ? 0 : (double) h / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("QueryCache[size=%d/%d hitRate=%.1f%% hits=%d misses=%d evictions=%d rejected=%d]",
+                size(), capacity, hitRate() * 100, hits(), misses(), evictions(), rejections());
+    }
+
+    private static int spread(int h) {
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static final class Segment<K, V> {
+        final LinkedHashMap<K, V> map = new LinkedHashMap<>(16, 0.75f, true);
+        final FrequencySketch sketch;
+        final int capacity;
+        long version = Long.MIN_VALUE;
+
+        Segment(int capacity) {
+            this.capacity = capacity;
+            this.sketch = new FrequencySketch(capacity);
+        }
+
+        // Newer tree version seen: everything cached so far is stale
+        void advance(long newVersion) {
+            if (newVersion > version) {
+                map.clear();
+                version = newVersion;
+            }
+        }
+    }
+
+    /**
+     * DATA STRUCTURE: COUNT-MIN SKETCH (TinyLFU frequency estimate)
+     * DEPTH rows of saturating counters (max 15); a key's frequency is the
+     * minimum of its DEPTH counters, so it can only be over-estimated.
+     * - increment / frequency: O(DEPTH)
+     * - aging: all counters halved every sampleSize increments
+     */
+    static final class FrequencySketch {
+        private static final int DEPTH = 4;
+        private static final int MAX_COUNT = 15;
+        private static final int[] SEEDS = { 0x97CB3127, 0x2C1B3C6D, 0x297A2D39, 0x6A09E667 };
+
+        private final int[] table;
+        private final int width;
+        private final int sampleSize;
+        private int additions;
+
+        FrequencySketch(int capacity) {
+            // ~8 counters per row per cached entry keeps collisions rare within one aging window
+            width = Integer.highestOneBit(Math.max(16, capacity) * 16 - 1);
+            table = new int[DEPTH * width];
+            sampleSize = 10 * Math.max(16, capacity);
+        }
+
+        int frequency(int hash) {
+            int min = MAX_COUNT;
+            for (int row = 0; row < DEPTH; row++)
+                min = Math.min(min, table[slot(hash, row)]);
+            return min;
+        }
+
+        void increment(int hash) {
+            for (int row = 0; row < DEPTH; row++) {
+                int slot = slot(hash, row);
+                if (table[slot] < MAX_COUNT)
+                    table[slot]++;
+            }
+            if (++additions == sampleSize) {
+                for (int i = 0; i < table.length; i++)
+                    table[i] >>>= 1;
+                additions /= 2;
+            }
+        }
+
+        private int slot(int hash, int row) {
+            int h = (hash ^ SEEDS[row]) * 0x85EBCA6B;
+            h ^= h >>> 13;
+            return row * width + (h & (width - 1));
+        }
+    }
+}
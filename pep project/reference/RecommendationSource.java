@@ -0,0 +1,8 @@
+/**
+ * SOURCE: Which ranking feeds getRecommendations.
+ * CIRCULAR = next cities in tree order; NEARBY = geographic neighbours;
+ * SIMILAR = precomputed tag/climate/season/rating neighbours.
+ */
+public enum RecommendationSource {
+    CIRCULAR, NEARBY, SIMILAR
+}
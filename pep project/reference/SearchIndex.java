@@ -0,0 +1,45 @@
+import java.util.*;
+
+/**
+ * CONTRACT: Any city search index (insert a city node, prefix lookup).
+ * Both the HashMap Trie and the array-backed CompactTrie honour it.
+ */
+interface SearchIndex {
+    // Ranking order for top-k results: best rating first, then city name
+    Comparator<TravelNode> BY_RATING = Comparator.comparingDouble((TravelNode n) -> -n.ratingValue())
+            .thenComparing(n -> n.city).thenComparing(n -> n.id);
+
+    /**
+     * INSERT: Indexes a city under its lower-cased name; categories
+     * (city == null) are ignored. Same-name cities are kept side by side,
+     * one per id. Re-inserting an id already indexed under this name
+     * replaces the earlier node (last insert wins), so a with*() copy of a
+     * city takes the old record's place. Ids are only matched within one
+     * name: a rename must delete the old node first, as TreeEditor.update does.
+     */
+    void insert(TravelNode node);
+
+    List<TravelNode> search(String prefix);
+
+    /**
+     * TOP-K SEARCH: The k best-rated matches for a prefix.
+     * Generic fallback: bounded min-heap of size k over the full match list.
+     */
+    default List<TravelNode> search(String prefix, int k) {
+        return topK(search(prefix), k);
+    }
+
+    static List<TravelNode> topK(Collection<TravelNode> candidates, int k) {
+        if (k <= 0)
+            return new ArrayList<>();
+        PriorityQueue<TravelNode> heap = new PriorityQueue<>(k + 1, BY_RATING.reversed());
+        for (TravelNode n : candidates) {
+            heap.offer(n);
+            if (heap.size() > k)
+                heap.poll(); // Evict the current worst
+        }
+        List<TravelNode> results = new ArrayList<>(heap);
+        results.sort(BY_RATING);
+        return results;
+    }
+}
@@ -0,0 +1,126 @@
+import java.util.*;
+
+/**
+ * ============================================================
+ * ANALYSIS: HASHMAP TRIE vs COMPACT (ARRAY-BACKED) TRIE
+ * ============================================================
+ *
+ * Loads the same synthetic destination set into both SearchIndex
+ * implementations and reports retained heap, build time and
+ * prefix-search latency side by side.
+ *
+ * Compile together with the engine:
+ * javac DekhoBharatDSA.java SearchIndexComparison.java
+ * java SearchIndexComparison [cityCount]
+ */
+
+public class SearchIndexComparison {
+
+    private static final String[] SYLLABLES = { "ra", "ma", "pur", "ga", "nag", "la", "ko", "shi", "dha", "ban",
+            "tal", "ki", "ru", "se", "vel", "hal", "ur", "ji", "mar", "de" };
+
+    /**
+     * SYNTHETIC DATA: Deterministic pseudo-Indian city names.
+     * Built from shared syllables so prefixes overlap like real place names.
+     */
+    static List<TravelNode> syntheticCities(int count) {
+        Random rnd = new Random(42);
+        List<TravelNode> cities = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            StringBuilder name = new StringBuilder();
+            int parts = 2 + rnd.nextInt(3);
+            for (int p = 0; p < parts; p++)
+                name.append(SYLLABLES[rnd.nextInt(SYLLABLES.length)]);
+            name.append(i); // Keeps every city name unique
+            cities.add(new TravelNode("city-" + i, name.toString(), "State-" + (i % 36), "Synthetic.", null));
+        }
+        return cities;
+    }
+
+    private static long usedHeap() {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++)
+            System.gc();
+        return rt.totalMemory() - rt.freeMemory();
+    }
+
+    private static long buildAndMeasure(SearchIndex index, List<TravelNode> cities, String name) {
+        long heapBefore = usedHeap();
+        long start = System.nanoTime();
+        for (TravelNode city : cities)
+            index.insert(city);
+        long buildNanos = System.nanoTime() - start;
+        long retained = usedHeap() - heapBefore;
+        System.out.printf("%-12s build: %8.1f ms | retained heap: %8.2f MB%n", name, buildNanos / 1e6,
+                retained / (1024.0 * 1024.0));
+        return retained;
+    }
+
+    private static void measureSearch(SearchIndex index, String[] prefixes, String name) {
+        int rounds = 20;
+        long sink = 0;
+        for (int r = 0; r < 5; r++) // Warm-up so the JIT compiles both paths
+            for (String p : prefixes)
+                sink += index.search(p).size();
+
+        long start = System.nanoTime();
+        for (int r = 0; r < rounds; r++)
+            for (String p : prefixes)
+                sink += index.search(p).size();
+        double avgMicros = (System.nanoTime() - start) / 1e3 / (rounds * prefixes.length);
+        System.out.printf("%-12s search: %8.2f us/query (checksum %d)%n", name, avgMicros, sink);
+    }
+
+    private static void measureFuzzy(Trie trie, String[] queries) {
+        int rounds = 20;
+        long sink = 0;
+        for (int r = 0; r < 5; r++)
+            for (String q : queries)
+                sink += trie.fuzzySearch(q, 2).size();
+
+        long start = System.nanoTime();
+        for (int r = 0; r < rounds; r++)
+            for (String q : queries)
+                sink += trie.fuzzySearch(q, 2).size();
+        double avgMicros = (System.nanoTime() - start) / 1e3 / (rounds * queries.length);
+        System.out.printf("%-12s fuzzy:  %8.2f us/query (d<=2, checksum %d)%n", "Trie", avgMicros, sink);
+    }
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        System.out.println("=== DEKHO BHARAT: SEARCH INDEX COMPARISON (" + count + " cities) ===\n");
+
+        List<TravelNode> cities = syntheticCities(count);
+
+        Trie trie = new Trie();
+        long trieBytes = buildAndMeasure(trie, cities, "Trie");
+        CompactTrie compact = new CompactTrie();
+        long compactBytes = buildAndMeasure(compact, cities, "CompactTrie");
+        System.out.printf("Memory ratio (Trie / CompactTrie): %.1fx over %d trie nodes%n%n",
+                (double) trieBytes / Math.max(1, compactBytes), compact.nodeCount());
+
+        // Correctness: both indexes must agree on the match set
+        String[] prefixes = { "ra", "gana", "shi", "kotal", "purma", "devel", "halurji", "banmar" };
+        for (String p : prefixes) {
+            Set<String> a = new HashSet<>(), b = new HashSet<>();
+            for (TravelNode n : trie.search(p))
+                a.add(n.id);
+            for (TravelNode n : compact.search(p))
+                b.add(n.id);
+            if (!a.equals(b))
+                throw new IllegalStateException("Index mismatch for prefix '" + p + "'");
+        }
+
+        measureSearch(trie, prefixes, "Trie");
+        measureSearch(compact, prefixes, "CompactTrie");
+
+        // Typo queries: full synthetic names with one or two characters mangled
+        List<String> typos = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            char[] name = cities.get(i * (count / 8)).city.toLowerCase().toCharArray();
+            name[1] = 'x';
+            typos.add(new String(name, 0, name.length - (i % 2)));
+        }
+        measureFuzzy(trie, typos.toArray(new String[0]));
+    }
+}
@@ -0,0 +1,38 @@
+/**
+ * UTILITY: Best-season ranges ("Nov-Feb", "March-May", "June-Sept") as a
+ * 12-bit month mask (bit 0 = Jan). Ranges may wrap across the new year.
+ */
+final class SeasonMonths {
+    static final String[] NAMES = { "jan", "feb", "mar", "apr", "may", "jun", "jul", "aug", "sep", "oct", "nov",
+            "dec" };
+
+    private SeasonMonths() {
+    }
+
+    static int month(String token) {
+        String t = token.trim().toLowerCase();
+        if (t.length() < 3)
+            return -1;
+        t = t.substring(0, 3);
+        for (int m = 0; m < 12; m++)
+            if (NAMES[m].equals(t))
+                return m;
+        return -1;
+    }
+
+    static int mask(String range) {
+        if (range == null)
+            return 0;
+        String[] ends = range.split("-");
+        int from = month(ends[0]);
+        int to = ends.length > 1 ? month(ends[1]) : from;
+        if (from < 0 || to < 0)
+            return 0;
+        int mask = 0;
+        for (int m = from;; m = (m + 1) % 12) {
+            mask |= 1 << m;
+            if (m == to)
+                return mask;
+        }
+    }
+}
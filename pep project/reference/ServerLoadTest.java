@@ -0,0 +1,122 @@
+import java.net.URI;
+import java.net.http.*;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * ============================================================
+ * ANALYSIS: HTTP LATENCY, JAVA ENGINE VS NODE SERVER
+ * ============================================================
+ *
+ * Fires the same request mix (search, path, node) from N concurrent
+ * clients against each base URL for a fixed duration and reports
+ * throughput and p50 / p99 / max latency. Start both servers first:
+ * node server.js (port 4000)
+ * java DekhoBharatServer 8080
+ *
+ * Compile together with the engine:
+ * javac DekhoBharatDSA.java KnowledgeBaseLoader.java DekhoBharatServer.java ServerLoadTest.java
+ * java ServerLoadTest [clients] [seconds] [baseUrl...]
+ * e.g. java ServerLoadTest 32 10 http://localhost:8080 http://localhost:4000
+ * With no base URLs an embedded DekhoBharatServer on a free port is tested.
+ */
+
+public class ServerLoadTest {
+
+    // Ids and prefixes present in both the Java knowledge base and the Node dataset
+    private static final String[] REQUESTS = { "/api/search?q=g", "/api/search?q=ri", "/api/search?q=le",
+            "/api/path/leh", "/api/path/goa", "/api/path/varkala", "/api/node/rishikesh", "/api/node/gulmarg" };
+
+    private static void run(HttpClient client, String baseUrl, int clients, long millis) throws Exception {
+        try {
+            client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/health")).build(),
+                    HttpResponse.BodyHandlers.discarding());
+        } catch (java.io.IOException e) {
+            System.out.printf("%-28s unreachable (%s), skipped%n", baseUrl, e.getClass().getSimpleName());
+            return;
+        }
+
+        List<HttpRequest> requests = new ArrayList<>();
+        for (String path : REQUESTS)
+            requests.add(HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(10)).build());
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        List<Future<long[]>> results = new ArrayList<>();
+        for (int c = 0; c < clients; c++) {
+            final int offset = c;
+            results.add(pool.submit(() -> {
+                long[] latencies = new long[1 << 12];
+                int n = 0, errors = 0;
+                for (int i = offset; running.get(); i++) {
+                    long start = System.nanoTime();
+                    HttpResponse<byte[]> res = client.send(requests.get(i % requests.size()),
+                            HttpResponse.BodyHandlers.ofByteArray());
+                    long elapsed = System.nanoTime() - start;
+                    if (res.statusCode() != 200)
+                        errors++;
+                    if (n == latencies.length)
+                        latencies = Arrays.copyOf(latencies, n * 2);
+                    latencies[n++] = elapsed;
+                }
+                long[] out = Arrays.copyOf(latencies, n + 1);
+                out[n] = errors; // Last slot carries the error count
+                return out;
+            }));
+        }
+        Thread.sleep(millis);
+        running.set(false);
+
+        long[] all = new long[0];
+        long errors = 0;
+        for (Future<long[]> f : results) {
+            long[] r = f.get();
+            errors += r[r.length - 1];
+            int base = all.length;
+            all = Arrays.copyOf(all, base + r.length - 1);
+            System.arraycopy(r, 0, all, base, r.length - 1);
+        }
+        pool.shutdown();
+        Arrays.sort(all);
+        if (all.length == 0) {
+            System.out.printf("%-28s no completed requests%n", baseUrl);
+            return;
+        }
+        System.out.printf("%-28s req/s=%,9d  p50=%8.2f ms  p99=%8.2f ms  max=%8.2f ms  non-200=%d%n", baseUrl,
+                all.length * 1000L / millis, percentile(all, 0.50), percentile(all, 0.99),
+                all[all.length - 1] / 1e6, errors);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)] / 1e6;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+        long millis = (args.length > 1 ? Integer.parseInt(args[1]) : 5) * 1000L;
+        List<String> targets = new ArrayList<>();
+        for (int i = 2; i < args.length; i++)
+            targets.add(args[i].replaceAll("/+$", ""));
+
+        DekhoBharatServer embedded = null;
+        if (targets.isEmpty()) {
+            embedded = new DekhoBharatServer(new DekhoBharatDSA(), 0);
+            embedded.start();
+            targets.add("http://localhost:" + embedded.port());
+        }
+
+        System.out.println("=== DEKHO BHARAT: HTTP LOAD TEST (" + clients + " clients, " + millis / 1000
+                + " s per target) ===");
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newFixedThreadPool(4)).build();
+        for (String target : targets) {
+            run(client, target, clients, millis / 5); // Warm-up
+            run(client, target, clients, millis);
+        }
+        if (embedded != null)
+            embedded.stop();
+        System.exit(0);
+    }
+}
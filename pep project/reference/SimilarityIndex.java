@@ -0,0 +1,153 @@
+import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BooleanSupplier;
+
+/**
+ * DATA STRUCTURE: PRECOMPUTED SIMILARITY NEIGHBOUR LISTS
+ * score(a, b) = 0.4 * Jaccard(tags) + 0.2 * same climate
+ * + 0.2 * Jaccard(season months) + 0.2 * (1 - |rating gap| / 5)
+ * The top-N neighbours of every city are computed once by a fork-join batch
+ * job (exact all-pairs, O(N^2 / cores)) into flat arrays; serving is then an
+ * array slice lookup. Engine builds run on BUILD_POOL, never on the common
+ * pool, so a rebuild cannot starve parallel streams or async callbacks, and
+ * leave one core to the request threads.
+ */
+final class SimilarityIndex {
+    static final int TOP_N = 10;
+    private static final int SPLIT_THRESHOLD = 64; // Cities per fork-join leaf task
+    private static final float W_TAGS = 0.4f, W_CLIMATE = 0.2f, W_SEASON = 0.2f, W_RATING = 0.2f;
+    // Dedicated daemon workers for engine builds (see EngineSnapshot.followSimilarity)
+    static final ForkJoinPool BUILD_POOL = new ForkJoinPool(
+            Math.max(1, Runtime.getRuntime().availableProcessors() - 1), pool -> {
+                ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                t.setName("dekho-similarity-" + t.getPoolIndex());
+                t.setDaemon(true);
+                return t;
+            }, null, false);
+
+    private final int[][] tagIds; // Sorted interned tag ids per city
+    private final int[] climateId;
+    private final int[] seasonMask;
+    private final float[] rating;
+    private final int[] neighbours; // TOP_N slots per city, -1 = empty
+    private final float[] scores;
+    private final BooleanSupplier cancelled;
+
+    SimilarityIndex(List<TravelNode> cities, NodeColumns columns, ForkJoinPool pool) {
+        this(cities, columns, pool, () -> false);
+    }
+
+    /**
+     * CANCELLABLE BUILD: cancelled is polled once per city row (O(N) work
+     * each); once it returns true the batch stops and the constructor throws
+     * CancellationException.
+     */
+    SimilarityIndex(List<TravelNode> cities, NodeColumns columns, ForkJoinPool pool, BooleanSupplier cancelled) {
+        this.cancelled = cancelled;
+        int n = cities.size();
+        Map<String, Integer> dictionary = new HashMap<>();
+        tagIds = new int[n][];
+        climateId = new int[n];
+        for (int i = 0; i < n; i++) {
+            TravelNode city = cities.get(i);
+            int[] ids = new int[city.tags.size()];
+            for (int t = 0; t < ids.length; t++)
+                ids[t] = dictionary.computeIfAbsent("tag:" + city.tags.get(t).toLowerCase(), x -> dictionary.size());
+            Arrays.sort(ids);
+            tagIds[i] = ids;
+            String climate = city.details == null ? null : city.details.climate;
+            climateId[i] = climate == null ? -1
+                    : dictionary.computeIfAbsent("climate:" + climate.toLowerCase(), x -> dictionary.size());
+        }
+        seasonMask = columns.seasonMask;
+        rating = columns.rating;
+        neighbours = new int[n * TOP_N];
+        scores = new float[n * TOP_N];
+        Arrays.fill(neighbours, -1);
+        pool.invoke(new Batch(0, n));
+    }
+
+    // FORK-JOIN: split the ordinal range until a leaf is small enough
+    private final class Batch extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        final int from, to;
+
+        Batch(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    if (cancelled.getAsBoolean())
+                        throw new CancellationException("Similarity build superseded");
+                    computeNeighbours(i);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new Batch(from, mid), new Batch(mid, to));
+        }
+    }
+
+    private void computeNeighbours(int a) {
+        int base = a * TOP_N, filled = 0;
+        for (int b = 0; b < rating.length; b++) {
+            if (b == a)
+                continue;
+            float score = score(a, b);
+            if (filled == TOP_N && score <= scores[base + TOP_N - 1])
+                continue;
+            int pos = filled == TOP_N ? TOP_N - 1 : filled++;
+            while (pos > 0 && scores[base + pos - 1] < score) {
+                neighbours[base + pos] = neighbours[base + pos - 1];
+                scores[base + pos] = scores[base + pos - 1];
+                pos--;
+            }
+            neighbours[base + pos] = b;
+            scores[base + pos] = score;
+        }
+    }
+
+    float score(int a, int b) {
+        float tags = jaccard(tagIds[a], tagIds[b]);
+        float climate = climateId[a] >= 0 && climateId[a] == climateId[b] ? 1f : 0f;
+        int union = Integer.bitCount(seasonMask[a] | seasonMask[b]);
+        float season = union == 0 ? 0f : Integer.bitCount(seasonMask[a] & seasonMask[b]) / (float) union;
+        float ratingCloseness = 1f - Math.min(1f, Math.abs(rating[a] - rating[b]) / 5f);
+        return W_TAGS * tags + W_CLIMATE * climate + W_SEASON * season + W_RATING * ratingCloseness;
+    }
+
+    // Merge-style intersection over two sorted id arrays
+    private static float jaccard(int[] x, int[] y) {
+        if (x.length == 0 && y.length == 0)
+            return 0f;
+        int i = 0, j = 0, common = 0;
+        while (i < x.length && j < y.length) {
+            if (x[i] == y[j]) {
+                common++;
+                i++;
+                j++;
+            } else if (x[i] < y[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return common / (float) (x.length + y.length - common);
+    }
+
+    // SERVE: O(k) slice of the precomputed list, most similar first
+    int[] neighbours(int ordinal, int k) {
+        int base = ordinal * TOP_N, count = 0;
+        int limit = Math.min(k, TOP_N);
+        while (count < limit && neighbours[base + count] >= 0)
+            count++;
+        return Arrays.copyOfRange(neighbours, base, base + count);
+    }
+}
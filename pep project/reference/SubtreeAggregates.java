@@ -0,0 +1,86 @@
+/**
+ * DATA STRUCTURE: SUBTREE AGGREGATES (Fenwick tree + max segment tree)
+ * Indexed by city ordinal, so a subtree's aggregate is a query over its
+ * TreeIntervals ring range:
+ * - city count: range length, O(1)
+ * - average complexity: Fenwick prefix sums, O(log N)
+ * - max rating: iterative bottom-up segment tree, O(log N)
+ * A city whose rating or complexity is edited in place is a point update,
+ * O(log N); structural edits renumber the ring and rebuild in O(N).
+ */
+final class SubtreeAggregates {
+    private final int n;
+    private final float[] rating;
+    private final float[] complexity;
+    private final double[] complexitySums; // Fenwick tree, 1-based
+    private final float[] maxRating; // Segment tree: leaves at [n, 2n), node i = max(2i, 2i + 1)
+
+    SubtreeAggregates(NodeColumns columns) {
+        n = columns.size();
+        rating = columns.rating.clone();
+        complexity = columns.complexity.clone();
+        complexitySums = new double[n + 1];
+        for (int i = 1; i <= n; i++) { // O(N) build: each node pushes its sum to its Fenwick parent
+            complexitySums[i] += complexity[i - 1];
+            int parent = i + (i & -i);
+            if (parent <= n)
+                complexitySums[parent] += complexitySums[i];
+        }
+        maxRating = new float[2 * n];
+        System.arraycopy(rating, 0, maxRating, n, n);
+        for (int i = n - 1; i > 0; i--)
+            maxRating[i] = Math.max(maxRating[2 * i], maxRating[2 * i + 1]);
+    }
+
+    private SubtreeAggregates(SubtreeAggregates other) {
+        n = other.n;
+        rating = other.rating.clone();
+        complexity = other.complexity.clone();
+        complexitySums = other.complexitySums.clone();
+        maxRating = other.maxRating.clone();
+    }
+
+    // Private copy for a writer (published aggregates are shared between snapshots)
+    SubtreeAggregates copy() {
+        return new SubtreeAggregates(this);
+    }
+
+    // POINT UPDATE: O(log N) in both trees
+    void set(int ordinal, float newRating, float newComplexity) {
+        double delta = (double) newComplexity - complexity[ordinal];
+        complexity[ordinal] = newComplexity;
+        for (int i = ordinal + 1; i <= n; i += i & -i)
+            complexitySums[i] += delta;
+        rating[ordinal] = newRating;
+        int i = ordinal + n;
+        maxRating[i] = newRating;
+        for (i >>= 1; i > 0; i >>= 1)
+            maxRating[i] = Math.max(maxRating[2 * i], maxRating[2 * i + 1]);
+    }
+
+    // Sum of complexity over ordinals [from, to); visited[0] += Fenwick cells read
+    double complexitySum(int from, int to, int[] visited) {
+        return prefixSum(to, visited) - prefixSum(from, visited);
+    }
+
+    private double prefixSum(int end, int[] visited) {
+        double sum = 0;
+        for (int i = end; i > 0; i -= i & -i, visited[0]++)
+            sum += complexitySums[i];
+        return sum;
+    }
+
+    // Highest rating over ordinals [from, to); 0 for an empty range. visited[0] += tree levels climbed
+    float maxRating(int from, int to, int[] visited) {
+        if (from >= to)
+            return 0f;
+        float max = Float.NEGATIVE_INFINITY;
+        for (int lo = from + n, hi = to + n; lo < hi; lo >>= 1, hi >>= 1, visited[0]++) {
+            if ((lo & 1) == 1)
+                max = Math.max(max, maxRating[lo++]);
+            if ((hi & 1) == 1)
+                max = Math.max(max, maxRating[--hi]);
+        }
+        return max;
+    }
+}
@@ -0,0 +1,122 @@
+import java.util.*;
+
+/**
+ * ============================================================
+ * ANALYSIS: SUBTREE QUERIES vs BRUTE FORCE AND FULL REBUILD
+ * ============================================================
+ *
+ * Publishes mixed edit batches over the synthetic benchmark tree: rating
+ * and complexity rewrites (which keep the Euler-tour intervals and patch
+ * the aggregates), plus, every few batches, moves, removes and adds
+ * (which rebuild them). After each batch, for every node:
+ * - citiesUnder(id) must equal the cities a TreeWalker walk finds, in order;
+ * - summarize(id) must match the walk's count, best rating and average
+ * complexity, and a fresh new DekhoBharatDSA(copy)'s summary;
+ * and random isUnder(x, y) pairs must match a parent-pointer climb and
+ * the rebuilt engine. Exits with status 1 on the first mismatch.
+ *
+ * Compile together with the engine:
+ * javac DekhoBharatDSA.java DekhoBharatBenchmark.java SubtreeQueryHarness.java
+ * java SubtreeQueryHarness [batches] [seed]
+ */
+
+public class SubtreeQueryHarness {
+
+    private static final double EPSILON = 1e-6; // Patched Fenwick sums may round differently from a fresh build
+
+    private static int nextId;
+
+    private static void check(boolean ok, int batch, String what) {
+        if (!ok) {
+            System.err.println("MISMATCH after batch " + batch + ": " + what);
+            System.exit(1);
+        }
+    }
+
+    private static boolean sameSummary(SubtreeSummary a, SubtreeSummary b) {
+        return a.cityCount == b.cityCount && a.maxRating == b.maxRating
+                && Math.abs(a.averageComplexity - b.averageComplexity) <= EPSILON;
+    }
+
+    private static String randomScore(Random rnd, int scale) {
+        return String.valueOf(rnd.nextInt(50 * scale / 10) / (double) scale);
+    }
+
+    private static void verify(DekhoBharatDSA engine, int batch, Random rnd) {
+        EngineSnapshot s = engine.snapshot();
+        DekhoBharatDSA rebuilt = new DekhoBharatDSA(s.root.copyTree());
+        for (TravelNode node : s.idIndex.values()) {
+            List<TravelNode> expected = new ArrayList<>();
+            float[] maxRating = { 0f };
+            double[] complexity = { 0 };
+            TreeWalker.walk(node, (n, depth) -> {
+                if (n.city != null) {
+                    expected.add(n);
+                    maxRating[0] = Math.max(maxRating[0], n.ratingValue());
+                    complexity[0] += Float.parseFloat(n.details.complexityIdx);
+                }
+                return TraversalControl.CONTINUE;
+            });
+            check(engine.citiesUnder(node.id).equals(expected), batch, "citiesUnder " + node.id);
+
+            SubtreeSummary summary = engine.summarize(node.id);
+            SubtreeSummary walked = new SubtreeSummary(node, expected.size(), maxRating[0],
+                    expected.isEmpty() ? 0 : complexity[0] / expected.size());
+            check(sameSummary(summary, walked), batch, summary + " vs walk " + walked);
+            SubtreeSummary fresh = rebuilt.summarize(node.id);
+            check(sameSummary(summary, fresh), batch, summary + " vs rebuild " + fresh);
+        }
+
+        List<String> ids = new ArrayList<>(s.idIndex.keySet());
+        Collections.sort(ids);
+        for (int q = 0; q < 5_000; q++) {
+            String x = ids.get(rnd.nextInt(ids.size()));
+            String y = rnd.nextInt(50) == 0 ? "nope" : ids.get(rnd.nextInt(ids.size()));
+            boolean expected = false;
+            for (TravelNode n = s.idIndex.get(y); n != null; n = n.parent())
+                expected |= n.id.equals(x);
+            check(engine.isUnder(x, y) == expected, batch, "isUnder " + x + " " + y);
+            check(rebuilt.isUnder(x, y) == expected, batch, "rebuilt isUnder " + x + " " + y);
+        }
+    }
+
+    public static void main(String[] args) {
+        int batches = args.length > 0 ? Integer.parseInt(args[0]) : 40;
+        Random rnd = new Random(args.length > 1 ? Long.parseLong(args[1]) : 3);
+        System.out.println("=== DEKHO BHARAT: SUBTREE QUERIES vs BRUTE FORCE (" + batches + " batches) ===\n");
+
+        DekhoBharatDSA engine = new DekhoBharatDSA(DekhoBharatBenchmark.syntheticTree(3, 3, 2_000, new ArrayList<>()));
+        int reused = 0;
+        verify(engine, 0, rnd);
+        for (int batch = 1; batch <= batches; batch++) {
+            EngineSnapshot before = engine.snapshot();
+            List<String> cities = new ArrayList<>(before.ringIndex.keySet());
+            Collections.sort(cities);
+            boolean structural = rnd.nextInt(3) == 0;
+            engine.mutate(editor -> {
+                for (int k = 0; k < 20; k++) {
+                    String id = cities.get(rnd.nextInt(cities.size()));
+                    if (editor.get(id) != null)
+                        editor.update(id, n -> n.withDetails(
+                                n.details.withRating(randomScore(rnd, 10)).withComplexity(randomScore(rnd, 100))));
+                }
+                if (structural) {
+                    String moved = cities.get(rnd.nextInt(cities.size()));
+                    if (editor.get(moved) != null)
+                        editor.move(moved, "cat-" + rnd.nextInt(39));
+                    String removed = cities.get(rnd.nextInt(cities.size()));
+                    if (editor.get(removed) != null)
+                        editor.remove(removed);
+                    editor.add("cat-" + rnd.nextInt(39), new TravelNode("new-" + nextId++, "Added", "State", "Added.",
+                            new NodeDetails("Nov-Feb", "-", "-", "-", "-", "Tropical", "15.0N", randomScore(rnd, 10),
+                                    randomScore(rnd, 100), null)));
+                }
+            });
+            if (engine.snapshot().intervals == before.intervals)
+                reused++;
+            verify(engine, batch, rnd);
+        }
+        System.out.println("OK: " + batches + " batches matched brute force and a full rebuild; intervals reused by "
+                + reused + " rating-only batches");
+    }
+}
@@ -0,0 +1,22 @@
+/**
+ * IMMUTABLE VIEW: Aggregates of one subtree at snapshot time.
+ */
+public final class SubtreeSummary {
+    final TravelNode node;
+    final int cityCount;
+    final float maxRating; // 0 when the subtree has no cities
+    final double averageComplexity; // 0 when the subtree has no cities
+
+    SubtreeSummary(TravelNode node, int cityCount, float maxRating, double averageComplexity) {
+        this.node = node;
+        this.cityCount = cityCount;
+        this.maxRating = maxRating;
+        this.averageComplexity = averageComplexity;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d cities, best rating %.1f, avg complexity %.2f",
+                node.city != null ? node.city : node.label, cityCount, maxRating, averageComplexity);
+    }
+}
@@ -0,0 +1,157 @@
+import java.util.*;
+
+/**
+ * IMMUTABLE RECORD: A node's own fields never change once it exists;
+ * edits produce a detached copy via with*() that TreeEditor swaps into its
+ * working tree. Only the tree links are written after construction, by
+ * TravelTreeBuilder and TreeEditor, and the freeze pass on publish makes
+ * the child list read-only, so a published snapshot cannot be edited.
+ */
+public final class TravelNode {
+    final String id; // Remove and re-add to re-key a node
+    final String label, city, state, description;
+    final List<String> tags; // Unmodifiable
+    final NodeDetails details;
+    private final float rating; // details.rating parsed once, for ranking comparators
+    private List<TravelNode> children = new ArrayList<>();
+    private TravelNode parent; // Set by addChild; null for the root
+
+    // Category Node Constructor
+    public TravelNode(String id, String label, String desc) {
+        this(id, label, null, null, desc, null, Collections.emptyList());
+    }
+
+    // City Node Constructor
+    public TravelNode(String id, String city, String state, String desc, NodeDetails details, String... tagsArr) {
+        this(id, null, city, state, desc, details, tagsArr == null ? Collections.emptyList()
+                : Collections.unmodifiableList(new ArrayList<>(Arrays.asList(tagsArr))));
+    }
+
+    // Every field at once (copies, EngineImage views); tags must already be unmodifiable
+    TravelNode(String id, String label, String city, String state, String desc, NodeDetails details,
+            List<String> tags) {
+        this.id = id;
+        this.label = label;
+        this.city = city;
+        this.state = state;
+        this.description = desc;
+        this.details = details;
+        this.tags = tags;
+        this.rating = parseRating(details);
+    }
+
+    public List<TravelNode> children() {
+        return children;
+    }
+
+    public TravelNode parent() {
+        return parent;
+    }
+
+    // --- COPY-ON-WRITE EDITS: detached, childless copies for TreeEditor.update ---
+
+    public TravelNode withLabel(String newLabel) {
+        return new TravelNode(id, newLabel, city, state, description, details, tags);
+    }
+
+    public TravelNode withCity(String newCity) {
+        return new TravelNode(id, label, newCity, state, description, details, tags);
+    }
+
+    public TravelNode withState(String newState) {
+        return new TravelNode(id, label, city, newState, description, details, tags);
+    }
+
+    public TravelNode withDescription(String newDescription) {
+        return new TravelNode(id, label, city, state, newDescription, details, tags);
+    }
+
+    public TravelNode withDetails(NodeDetails newDetails) {
+        return new TravelNode(id, label, city, state, description, newDetails, tags);
+    }
+
+    public TravelNode withTags(String... newTags) {
+        return new TravelNode(id, label, city, state, description, details,
+                Collections.unmodifiableList(new ArrayList<>(Arrays.asList(newTags))));
+    }
+
+    // --- TREE LINKS: builders, loaders and TreeEditor's working copy only ---
+
+    void addChild(TravelNode child) {
+        this.children.add(child);
+        child.parent = this;
+    }
+
+    void detach() {
+        parent.children.remove(this);
+        parent = null;
+    }
+
+    // copy takes this node's place under its parent and adopts its children
+    void replaceWith(TravelNode copy) {
+        if (copy.parent != null || !copy.children.isEmpty())
+            throw new IllegalArgumentException("Replacement for '" + id + "' must be detached and childless");
+        copy.children = children;
+        children = new ArrayList<>();
+        for (TravelNode child : copy.children)
+            child.parent = copy;
+        if (parent != null)
+            parent.children.set(parent.children.indexOf(this), copy);
+        copy.parent = parent;
+        parent = null;
+    }
+
+    // Read-only views (EngineImage): parent link without a child entry
+    void linkView(TravelNode viewParent) {
+        parent = viewParent;
+    }
+
+    // Publish: the child list becomes read-only
+    void freeze() {
+        children = Collections.unmodifiableList(children);
+    }
+
+    /**
+     * COPY of this subtree's links for copy-on-write updates.
+     * Fresh nodes and child lists; the immutable fields, tags and details
+     * are shared with the snapshot the copy was taken from.
+     */
+    TravelNode copyTree() {
+        return copyTree(null);
+    }
+
+    // Same, recording original -> copy for every node
+    TravelNode copyTree(Map<TravelNode, TravelNode> copies) {
+        List<TravelNode> copyPath = new ArrayList<>(); // copyPath[d] = copy of the ancestor at depth d
+        TreeWalker.walk(this, (node, walk) -> {
+            TravelNode copy = new TravelNode(node.id, node.label, node.city, node.state, node.description,
+                    node.details, node.tags);
+            if (copies != null)
+                copies.put(node, copy);
+            int depth = walk.depth();
+            if (depth > 0)
+                copyPath.get(depth - 1).addChild(copy);
+            if (depth < copyPath.size())
+                copyPath.set(depth, copy);
+            else
+                copyPath.add(copy);
+            return TraversalControl.CONTINUE;
+        });
+        return copyPath.get(0);
+    }
+
+    // Numeric rating used for ranking (0 for categories or unparsable values)
+    public float ratingValue() {
+        return rating;
+    }
+
+    private static float parseRating(NodeDetails details) {
+        if (details == null || details.rating == null)
+            return 0f;
+        try {
+            return Float.parseFloat(details.rating);
+        } catch (NumberFormatException e) {
+            return 0f;
+        }
+    }
+}
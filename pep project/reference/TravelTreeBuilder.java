@@ -0,0 +1,91 @@
+import java.util.*;
+
+/**
+ * BUILDER: The one way to assemble a destination tree for the engine (the
+ * built-in knowledge base behind shared() and DekhoIndia, and the CSV
+ * loader, both go through it).
+ * - Nodes attach by parent id, parents first, exactly like the CSV format.
+ * - Repeated short values (states, seasons, climates, ratings, tags,
+ * booking prices and types) are interned: one String per distinct value.
+ * - The Trie fills as cities arrive, so build() re-inserts nothing.
+ * Single use: build() hands the tree to the engine, which freezes it.
+ */
+public final class TravelTreeBuilder {
+    private final Map<String, TravelNode> nodes = new HashMap<>();
+    private final Map<String, String> strings = new HashMap<>();
+    private final Trie searchIndex = new Trie();
+    private TravelNode root;
+    private boolean built;
+
+    // parentId null adds the root
+    public TravelTreeBuilder category(String parentId, String id, String label, String desc) {
+        return add(parentId, new TravelNode(id, label, desc));
+    }
+
+    public TravelTreeBuilder city(String parentId, String id, String city, String state, String desc,
+            NodeDetails details, String... tags) {
+        String[] pooledTags = tags == null ? null : tags.clone();
+        if (pooledTags != null)
+            for (int i = 0; i < pooledTags.length; i++)
+                pooledTags[i] = intern(pooledTags[i]);
+        return add(parentId, new TravelNode(id, city, intern(state), desc,
+                details == null ? null : details.interned(this::intern), pooledTags));
+    }
+
+    /**
+     * ATTACH: A detached, childless node under parentId (null = the root).
+     * Fails on an empty or duplicate id, a second root or an unknown parent.
+     */
+    public TravelTreeBuilder add(String parentId, TravelNode node) {
+        if (built)
+            throw new IllegalStateException("Tree already built");
+        if (node.id == null || node.id.isEmpty())
+            throw new IllegalArgumentException("empty id");
+        if (node.parent() != null || !node.children().isEmpty())
+            throw new IllegalArgumentException("node '" + node.id + "' must be detached and childless");
+        if (nodes.containsKey(node.id))
+            throw new IllegalArgumentException("duplicate id '" + node.id + "'");
+        if (parentId == null) {
+            if (root != null)
+                throw new IllegalArgumentException("second root '" + node.id + "'");
+            root = node;
+        } else {
+            TravelNode parent = nodes.get(parentId);
+            if (parent == null)
+                throw new IllegalArgumentException("unknown parent '" + parentId + "' (parents must come first)");
+            parent.addChild(node);
+        }
+        nodes.put(node.id, node);
+        searchIndex.insert(node); // Categories are ignored by the Trie
+        return this;
+    }
+
+    String intern(String value) {
+        if (value == null)
+            return null;
+        String pooled = strings.putIfAbsent(value, value);
+        return pooled != null ? pooled : value;
+    }
+
+    boolean hasRoot() {
+        return root != null;
+    }
+
+    public DekhoBharatDSA build() {
+        return new DekhoBharatDSA(this);
+    }
+
+    // Hands over the tree and its Trie, once
+    TravelNode finish() {
+        if (built)
+            throw new IllegalStateException("Tree already built");
+        if (root == null)
+            throw new IllegalArgumentException("No root node added");
+        built = true;
+        return root;
+    }
+
+    Trie searchIndex() {
+        return searchIndex;
+    }
+}
@@ -0,0 +1,3 @@
+enum TraversalControl {
+    CONTINUE, SKIP_SUBTREE, TERMINATE
+}
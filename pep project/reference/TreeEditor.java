@@ -0,0 +1,165 @@
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * WRITER: Edits against a private copy of one snapshot.
+ * COST: Not incremental per publish. Every batch copies the whole tree and
+ * Trie (O(N), pointer copies, no re-insertion), and publish() then builds
+ * a full EngineSnapshot: breadcrumbs O(N * depth), plus the attribute,
+ * column, geo and booking indexes O(N log N). What a batch saves is Trie
+ * re-insertion: each edit patches the Trie in place, O(L + depth) for a
+ * city, O(subtree * L) for a category. A batch of field updates keeps the
+ * tree's shape, so the base intervals are reused and the subtree
+ * aggregates get O(log N) point updates instead of a rebuild.
+ * Batch edits through mutate(): one rebuild per batch, not per edit.
+ */
+public final class TreeEditor {
+    private final EngineSnapshot base;
+    private TravelNode root; // Replaced when update() edits the root itself
+    private Trie searchIndex; // Replaced wholesale by rewrite()
+    private final Map<String, TravelNode> ids;
+    private SubtreeAggregates aggregates; // Copied on the first field update
+    private boolean reshaped; // add / remove / move: ring order and intervals change
+
+    TreeEditor(EngineSnapshot base) {
+        this.base = base;
+        Map<TravelNode, TravelNode> copies = new IdentityHashMap<>();
+        root = base.root.copyTree(copies);
+        searchIndex = base.searchIndex.copy(copies::get);
+        ids = new HashMap<>(base.idIndex.size() * 2);
+        for (TravelNode copy : copies.values())
+            ids.put(copy.id, copy);
+    }
+
+    // Working-copy node (its links are editable until publish), or null
+    public TravelNode get(String id) {
+        return ids.get(id);
+    }
+
+    /**
+     * ADD: Attaches a detached node (and whatever subtree it carries) as the
+     * last child of parentId. Ids must be new to the tree.
+     */
+    public void add(String parentId, TravelNode node) {
+        TravelNode parent = require(parentId);
+        if (node.parent() != null || node == root)
+            throw new IllegalArgumentException("Node '" + node.id + "' is already attached; use move()");
+        List<TravelNode> subtree = preOrder(node);
+        Set<String> incoming = new HashSet<>();
+        for (TravelNode n : subtree)
+            if (ids.containsKey(n.id) || !incoming.add(n.id))
+                throw new IllegalArgumentException("Duplicate id '" + n.id + "'");
+
+        parent.addChild(node);
+        reshaped = true;
+        for (TravelNode n : subtree) {
+            ids.put(n.id, n);
+            searchIndex.insert(n);
+        }
+    }
+
+    // REMOVE: Detaches the node with its whole subtree and unindexes every city in it
+    public TravelNode remove(String id) {
+        TravelNode node = require(id);
+        if (node == root)
+            throw new IllegalArgumentException("Cannot remove the root");
+        node.detach();
+        reshaped = true;
+        for (TravelNode n : preOrder(node)) {
+            ids.remove(n.id);
+            searchIndex.delete(n);
+        }
+        return node;
+    }
+
+    // MOVE: Re-parents a subtree; names are unchanged, so the Trie is untouched. O(depth + fan-out)
+    public void move(String id, String newParentId) {
+        TravelNode node = require(id);
+        TravelNode target = require(newParentId);
+        if (node == root)
+            throw new IllegalArgumentException("Cannot move the root");
+        for (TravelNode t = target; t != null; t = t.parent())
+            if (t == node)
+                throw new IllegalArgumentException("Cannot move '" + id + "' under its own subtree");
+        node.detach();
+        target.addChild(node);
+        reshaped = true;
+    }
+
+    /**
+     * UPDATE: Replaces one node's fields (name, rating, tags, details...).
+     * edit maps the current record to a new one, built with the with*()
+     * copies; the replacement takes over the node's place and children and
+     * is re-indexed, so renames and rating changes reach the Trie caches and
+     * the subtree aggregates.
+     */
+    public void update(String id, UnaryOperator<TravelNode> edit) {
+        TravelNode old = require(id);
+        TravelNode node = edit.apply(old);
+        if (node == old)
+            return;
+        if (node == null || !id.equals(node.id))
+            throw new IllegalArgumentException("Edit of '" + id + "' must return a node with the same id");
+        boolean wasCity = old.city != null;
+        searchIndex.delete(old);
+        old.replaceWith(node);
+        if (old == root)
+            root = node;
+        ids.put(id, node);
+        searchIndex.insert(node);
+
+        if (wasCity != (node.city != null)) {
+            reshaped = true; // Joined or left the city ring
+        } else if (wasCity && !reshaped) {
+            if (aggregates == null)
+                aggregates = base.aggregates.copy();
+            aggregates.set(base.ringIndex.get(id), node.ratingValue(),
+                    node.details == null ? 0f : NodeColumns.parseFloat(node.details.complexityIdx));
+        }
+    }
+
+    /**
+     * REWRITE: Free-form reshaping of the whole working tree (addChild on
+     * any working node) for changes the single-node edits don't cover.
+     * Nothing is tracked per edit, so the id map and the Trie are rebuilt
+     * afterwards: O(N * L).
+     */
+    public void rewrite(Consumer<TravelNode> batch) {
+        batch.accept(root);
+        if (root.parent() != null)
+            throw new IllegalArgumentException("Cannot attach the root under another node");
+
+        ids.clear();
+        searchIndex = new Trie();
+        for (TravelNode n : preOrder(root)) {
+            if (ids.put(n.id, n) != null)
+                throw new IllegalArgumentException("Duplicate id '" + n.id + "'");
+            searchIndex.insert(n);
+        }
+        reshaped = true;
+    }
+
+    EngineSnapshot publish(long version) {
+        if (reshaped)
+            return new EngineSnapshot(root, searchIndex, version);
+        return new EngineSnapshot(root, searchIndex, base.intervals,
+                aggregates != null ? aggregates : base.aggregates, version);
+    }
+
+    private TravelNode require(String id) {
+        TravelNode node = ids.get(id);
+        if (node == null)
+            throw new IllegalArgumentException("Unknown node id '" + id + "'");
+        return node;
+    }
+
+    private static List<TravelNode> preOrder(TravelNode top) {
+        List<TravelNode> nodes = new ArrayList<>();
+        TreeWalker.walk(top, (node, walk) -> {
+            nodes.add(node);
+            return TraversalControl.CONTINUE;
+        });
+        return nodes;
+    }
+}
@@ -0,0 +1,81 @@
+import java.util.*;
+
+/**
+ * DATA STRUCTURE: PRE-ORDER INTERVAL NUMBERING (Euler tour)
+ * Every node gets enter = its pre-order number and exit = one past the last
+ * pre-order number in its subtree, so a subtree is the contiguous range
+ * [enter, exit) and "a is an ancestor of b" is two int comparisons.
+ * The city ring is built in the same pre-order, so a subtree's cities are
+ * also one contiguous ring range [ringStart, ringEnd).
+ * - Build: O(N) single walk ; lookup: O(1)
+ */
+final class TreeIntervals {
+    private final Map<String, Integer> preOrder = new HashMap<>();
+    // Indexed by pre-order number
+    private int[] exit = new int[64];
+    private int[] ringStart = new int[64];
+    private int[] ringEnd = new int[64];
+    private int size;
+    private int cities;
+
+    TreeIntervals(TravelNode root) {
+        TreeWalker.walk(root, new TreeVisitor() {
+            private int[] open = new int[32]; // open[d] = pre-order number of the ancestor at depth d
+
+            @Override
+            public TraversalControl enter(TravelNode node, TreeWalker walk) {
+                int depth = walk.depth();
+                if (depth == open.length)
+                    open = Arrays.copyOf(open, depth * 2);
+                if (size == exit.length) {
+                    exit = Arrays.copyOf(exit, size * 2);
+                    ringStart = Arrays.copyOf(ringStart, size * 2);
+                    ringEnd = Arrays.copyOf(ringEnd, size * 2);
+                }
+                open[depth] = size;
+                ringStart[size] = cities;
+                if (node.city != null)
+                    cities++;
+                preOrder.put(node.id, size++);
+                return TraversalControl.CONTINUE;
+            }
+
+            @Override
+            public void exit(TravelNode node, TreeWalker walk) {
+                int enter = open[walk.depth()];
+                exit[enter] = size;
+                ringEnd[enter] = cities;
+            }
+        });
+    }
+
+    int size() {
+        return size;
+    }
+
+    // Pre-order number of the node, or -1 if the id is unknown
+    int enter(String id) {
+        Integer position = preOrder.get(id);
+        return position == null ? -1 : position;
+    }
+
+    // Exclusive end of the subtree that starts at pre-order number enter
+    int exit(int enter) {
+        return exit[enter];
+    }
+
+    // Ring ordinals [ringStart, ringEnd) of the cities in the subtree at enter
+    int ringStart(int enter) {
+        return ringStart[enter];
+    }
+
+    int ringEnd(int enter) {
+        return ringEnd[enter];
+    }
+
+    // O(1): true if ancestorId is id itself or lies on its root path
+    boolean contains(String ancestorId, String id) {
+        int a = enter(ancestorId), n = enter(id);
+        return a >= 0 && n >= 0 && a <= n && n < exit[a];
+    }
+}
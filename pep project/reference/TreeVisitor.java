@@ -0,0 +1,11 @@
+/**
+ * CONTRACT: Callbacks for TreeWalker, in the style of java.nio.file.FileVisitor.
+ * enter() runs before a node's children (pre-order), exit() after the last
+ * of them (post-order). A subtree skipped from enter() gets no exit().
+ */
+interface TreeVisitor {
+    TraversalControl enter(TravelNode node, TreeWalker walk);
+
+    default void exit(TravelNode node, TreeWalker walk) {
+    }
+}
@@ -0,0 +1,78 @@
+import java.util.*;
+
+/**
+ * ALGORITHM: ITERATIVE DFS ENGINE (explicit stacks, no recursion)
+ * The root-to-current path lives in two parallel arrays: the nodes and a
+ * primitive "next child" cursor per level. The arrays belong to the thread
+ * and are reused, so once grown to the tree height a walk allocates nothing,
+ * and depth is bounded by the heap instead of the call stack.
+ * - Time: O(N) ; Extra space: O(H), reused across walks
+ */
+final class TreeWalker {
+    private static final ThreadLocal<TreeWalker> PER_THREAD = ThreadLocal.withInitial(TreeWalker::new);
+
+    private TravelNode[] path = new TravelNode[32];
+    private int[] nextChild = new int[32];
+    private int depth = -1;
+    private boolean busy;
+
+    static TraversalControl walk(TravelNode root, TreeVisitor visitor) {
+        TreeWalker walker = PER_THREAD.get();
+        if (walker.busy)
+            walker = new TreeWalker(); // Nested walk started from inside a callback
+        return walker.run(root, visitor);
+    }
+
+    // Valid inside callbacks: depth of the current node (root = 0) and its ancestors
+    int depth() {
+        return depth;
+    }
+
+    TravelNode ancestor(int level) {
+        return path[level];
+    }
+
+    // Copy of the root -> current node path (the result a backtracking DFS would return)
+    List<TravelNode> currentPath() {
+        return new ArrayList<>(Arrays.asList(path).subList(0, depth + 1));
+    }
+
+    private TraversalControl run(TravelNode root, TreeVisitor visitor) {
+        busy = true;
+        try {
+            if (descend(root, visitor) == TraversalControl.TERMINATE)
+                return TraversalControl.TERMINATE;
+            while (depth >= 0) {
+                TravelNode node = path[depth];
+                int next = nextChild[depth];
+                if (next < node.children().size()) {
+                    nextChild[depth] = next + 1;
+                    if (descend(node.children().get(next), visitor) == TraversalControl.TERMINATE)
+                        return TraversalControl.TERMINATE;
+                } else {
+                    visitor.exit(node, this);
+                    depth--; // BACKTRACK: pop without touching the heap
+                }
+            }
+            return TraversalControl.CONTINUE;
+        } finally {
+            Arrays.fill(path, null); // Don't pin the last tree walked
+            depth = -1;
+            busy = false;
+        }
+    }
+
+    // Push + enter(); a skipped node is popped again straight away
+    private TraversalControl descend(TravelNode node, TreeVisitor visitor) {
+        if (++depth == path.length) {
+            path = Arrays.copyOf(path, depth * 2);
+            nextChild = Arrays.copyOf(nextChild, depth * 2);
+        }
+        path[depth] = node;
+        nextChild[depth] = 0;
+        TraversalControl control = visitor.enter(node, this);
+        if (control == TraversalControl.SKIP_SUBTREE)
+            depth--;
+        return control;
+    }
+}
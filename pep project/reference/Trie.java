@@ -0,0 +1,371 @@
+import java.util.*;
+import java.util.function.UnaryOperator;
+
+class Trie implements SearchIndex {
+    // Per-node cache depth: autocomplete never shows more than this many rows
+    static final int TOP_K_CACHE = 10;
+    // Beyond 2 edits short city names start matching almost anything
+    static final int MAX_FUZZY_DISTANCE = 2;
+    // Order of same-name cities within one word (independent of insert history)
+    static final Comparator<TravelNode> BY_ID = Comparator.comparing(n -> n.id);
+
+    TrieNode root = new TrieNode();
+
+    public void insert(TravelNode node) {
+        if (node.city == null)
+            return;
+        String key = node.city.toLowerCase();
+        TrieNode[] path = new TrieNode[key.length() + 1];
+        TrieNode current = root;
+        path[0] = root;
+        for (int i = 0; i < key.length(); i++) {
+            char ch = key.charAt(i);
+            current.children.putIfAbsent(ch, new TrieNode());
+            current = current.children.get(ch);
+            path[i + 1] = current;
+        }
+        if (!current.isEndOfWord) {
+            current.isEndOfWord = true;
+            current.nodeData = new ArrayList<>(1);
+        }
+        int pos = Collections.binarySearch(current.nodeData, node, BY_ID);
+        if (pos >= 0) { // Same id: the new record replaces the old one (SearchIndex.insert)
+            TravelNode old = current.nodeData.set(pos, node);
+            if (old != node)
+                for (int i = key.length(); i >= 0; i--) // Deepest first: refreshes merge already-fixed children
+                    if (path[i].topRated.contains(old))
+                        refreshTopRated(path[i]);
+                    else
+                        offerTopRated(path[i].topRated, node);
+            return;
+        }
+        current.nodeData.add(-pos - 1, node);
+
+        // Offer the city to the cached top-k list of every node on the word-to-root path
+        for (TrieNode onPath : path)
+            offerTopRated(onPath.topRated, node);
+    }
+
+    /**
+     * ALGORITHM: TRIE DELETE WITH PRUNING
+     * Drops this node from its word (other same-name cities stay indexed and
+     * resurface through the cache refresh), then climbs back to the root:
+     * nodes left with neither a word nor children are unlinked from their
+     * parent, and every surviving node whose cached top-k held the city
+     * re-merges it from its own word and its children.
+     * O(L * S * K) [S = children per node, K = TOP_K_CACHE]. Returns false if
+     * this exact node is not indexed.
+     */
+    public boolean delete(TravelNode node) {
+        if (node.city == null)
+            return false;
+        String key = node.city.toLowerCase();
+        TrieNode[] path = new TrieNode[key.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < key.length(); i++) {
+            path[i + 1] = path[i].children.get(key.charAt(i));
+            if (path[i + 1] == null)
+                return false;
+        }
+        TrieNode end = path[key.length()];
+        int pos = end.isEndOfWord ? Collections.binarySearch(end.nodeData, node, BY_ID) : -1;
+        if (pos < 0 || end.nodeData.get(pos) != node)
+            return false;
+        end.nodeData.remove(pos);
+        if (end.nodeData.isEmpty()) {
+            end.isEndOfWord = false;
+            end.nodeData = null;
+        }
+
+        for (int i = key.length(); i >= 0; i--) {
+            TrieNode onPath = path[i];
+            if (i > 0 && !onPath.isEndOfWord && onPath.children.isEmpty())
+                path[i - 1].children.remove(key.charAt(i - 1)); // PRUNE: dead branch
+            else if (onPath.topRated.contains(node))
+                refreshTopRated(onPath);
+        }
+        return true;
+    }
+
+    // Rebuilds one node's cache from its own word plus its children's caches
+    private static void refreshTopRated(TrieNode node) {
+        List<TravelNode> top = new ArrayList<>(TOP_K_CACHE);
+        if (node.isEndOfWord)
+            for (TravelNode city : node.nodeData)
+                offerTopRated(top, city);
+        for (TrieNode child : node.children.values())
+            for (TravelNode candidate : child.topRated)
+                offerTopRated(top, candidate);
+        node.topRated = top;
+    }
+
+    /**
+     * STRUCTURAL COPY: Same shape and caches, with every indexed TravelNode
+     * swapped through remap (e.g. onto a copied tree). Pointer work only:
+     * no keys are re-lowercased and no ranking is redone.
+     */
+    Trie copy(UnaryOperator<TravelNode> remap) {
+        Trie copy = new Trie();
+        Deque<TrieNode[]> stack = new ArrayDeque<>();
+        stack.push(new TrieNode[] { root, copy.root });
+        while (!stack.isEmpty()) {
+            TrieNode[] pair = stack.pop();
+            TrieNode from = pair[0], to = pair[1];
+            to.isEndOfWord = from.isEndOfWord;
+            if (from.nodeData != null) {
+                to.nodeData = new ArrayList<>(from.nodeData.size());
+                for (TravelNode n : from.nodeData)
+                    to.nodeData.add(remap.apply(n));
+            }
+            to.topRated = new ArrayList<>(from.topRated.size());
+            for (TravelNode n : from.topRated)
+                to.topRated.add(remap.apply(n));
+            for (Map.Entry<Character, TrieNode> e : from.children.entrySet()) {
+                TrieNode child = new TrieNode();
+                to.children.put(e.getKey(), child);
+                stack.push(new TrieNode[] { e.getValue(), child });
+            }
+        }
+        return copy;
+    }
+
+    private static void offerTopRated(List<TravelNode> top, TravelNode node) {
+        int pos = Collections.binarySearch(top, node, BY_RATING);
+        if (pos < 0)
+            pos = -pos - 1;
+        if (pos >= TOP_K_CACHE)
+            return; // Not good enough for this subtree's cache
+        top.add(pos, node);
+        if (top.size() > TOP_K_CACHE)
+            top.remove(top.size() - 1);
+    }
+
+    /**
+     * TOP-K PREFIX SEARCH
+     * k <= TOP_K_CACHE: answered from the prefix node's cached list in O(L + k),
+     * independent of how many cities sit under the prefix.
+     * Larger k falls back to a bounded heap over the subtree.
+     */
+    @Override
+    public List<TravelNode> search(String prefix, int k) {
+        return search(prefix, k, new int[1]);
+    }
+
+    // Same; visited[0] += Trie nodes walked (for EngineMetrics)
+    List<TravelNode> search(String prefix, int k, int[] visited) {
+        TrieNode current = find(prefix, visited);
+        if (current == null || k <= 0)
+            return new ArrayList<>();
+        if (k <= TOP_K_CACHE)
+            return new ArrayList<>(current.topRated.subList(0, Math.min(k, current.topRated.size())));
+        List<TravelNode> all = new ArrayList<>();
+        visited[0] += collectAll(current, all) - 1; // current was counted by find
+        return SearchIndex.topK(all, k);
+    }
+
+    /**
+     * ALGORITHM: FUZZY (TYPO-TOLERANT) SEARCH
+     * Walks the Trie carrying one Levenshtein DP row per depth; a branch is
+     * pruned as soon as every cell in its row exceeds maxDistance, so only
+     * O(L * alphabet^d) nodes are touched rather than every city string.
+     * Iterative on the thread's TrieNodeStack; depth-first order guarantees
+     * rows[depth - 1] still belongs to the popped node's parent.
+     * Ranking: edit distance first, then rating. Matches are sorted as packed
+     * (distance << 32 | match index) longs, then each equal-distance run by
+     * BY_RATING.
+     */
+    public List<TravelNode> fuzzySearch(String query, int maxDistance) {
+        return fuzzySearch(query, maxDistance, new int[1]);
+    }
+
+    // Same; visited[0] += Trie nodes a DP row was computed for
+    List<TravelNode> fuzzySearch(String query, int maxDistance, int[] visited) {
+        String key = query.toLowerCase();
+        int maxDist = Math.max(0, Math.min(maxDistance, MAX_FUZZY_DISTANCE));
+        int[][] rows = new int[key.length() + maxDist + 2][];
+        rows[0] = new int[key.length() + 1];
+        for (int i = 0; i <= key.length(); i++)
+            rows[0][i] = i;
+
+        List<TravelNode> matches = new ArrayList<>();
+        long[] order = new long[16];
+        TrieNodeStack stack = TrieNodeStack.PER_THREAD.get();
+        int base = stack.size;
+        stack.childDepth = 1;
+        root.children.forEach(stack);
+        while (stack.size > base) {
+            TrieNode node = stack.pop();
+            int depth = stack.poppedDepth;
+            char ch = stack.poppedEdge;
+            int[] prev = rows[depth - 1];
+            int[] row = rows[depth];
+            if (row == null)
+                row = rows[depth] = new int[key.length() + 1];
+            visited[0]++;
+
+            row[0] = depth;
+            int rowMin = row[0];
+            for (int i = 1; i <= key.length(); i++) {
+                int substitute = prev[i - 1] + (key.charAt(i - 1) == ch ? 0 : 1);
+                row[i] = Math.min(Math.min(row[i - 1] + 1, prev[i] + 1), substitute);
+                rowMin = Math.min(rowMin, row[i]);
+            }
+
+            if (node.isEndOfWord && row[key.length()] <= maxDist) {
+                for (TravelNode city : node.nodeData) {
+                    if (matches.size() == order.length)
+                        order = Arrays.copyOf(order, order.length * 2);
+                    order[matches.size()] = (long) row[key.length()] << 32 | matches.size();
+                    matches.add(city);
+                }
+            }
+            // PRUNE: no completion below this node can get back under the budget
+            if (rowMin <= maxDist && depth + 1 < rows.length) {
+                stack.childDepth = depth + 1;
+                node.children.forEach(stack);
+            }
+        }
+
+        int n = matches.size();
+        Arrays.sort(order, 0, n);
+        List<TravelNode> results = new ArrayList<>(n);
+        for (int i = 0; i < n; i++)
+            results.add(matches.get((int) order[i]));
+        int from = 0;
+        while (from < n) { // Equal distances: best rating first
+            int to = from + 1;
+            while (to < n && order[to] >>> 32 == order[from] >>> 32)
+                to++;
+            if (to - from > 1)
+                results.subList(from, to).sort(BY_RATING);
+            from = to;
+        }
+        return results;
+    }
+
+    private TrieNode find(String prefix, int[] visited) {
+        TrieNode current = root;
+        visited[0]++;
+        for (char ch : prefix.toLowerCase().toCharArray()) {
+            current = current.children.get(ch);
+            if (current == null)
+                return null;
+            visited[0]++;
+        }
+        return current;
+    }
+
+    public List<TravelNode> search(String prefix) {
+        return search(prefix, new int[1]);
+    }
+
+    // Same; visited[0] += Trie nodes walked (for EngineMetrics)
+    List<TravelNode> search(String prefix, int[] visited) {
+        TrieNode current = find(prefix, visited);
+        if (current == null)
+            return new ArrayList<>();
+        List<TravelNode> results = new ArrayList<>();
+        visited[0] += collectAll(current, results) - 1; // current was counted by find
+        return results;
+    }
+
+    /**
+     * ALGORITHM: SHARED-WALK BATCH PREFIX SEARCH
+     * keys must be lowercase, sorted and distinct. Consecutive keys share
+     * their common prefix, so each edge is followed once per run of keys
+     * that share it. A key that extends an earlier one ("go" -> "goa") lies
+     * in that key's subtree, and a DFS emits every subtree contiguously:
+     * the outer subtree is collected once and nested keys are recorded as
+     * slices of it. key i -> results[start[i], end[i]), in search() order.
+     * O(sum of distinct edges + R) [R = cities under the outermost keys]
+     */
+    int searchSorted(String[] keys, List<TravelNode> results, int[] start, int[] end) {
+        int visited = 1;
+        TrieNode[] path = new TrieNode[16]; // path[d] = node for walked[0, d)
+        path[0] = root;
+        String walked = "";
+        int reached = 0; // Characters of walked that exist in the Trie
+        Map<TrieNode, Integer> nested = new IdentityHashMap<>();
+        int i = 0;
+        while (i < keys.length) {
+            // Keys sorted after keys[i] that extend it form one group
+            int groupEnd = i + 1;
+            while (groupEnd < keys.length && keys[groupEnd].startsWith(keys[i]))
+                groupEnd++;
+            TrieNode top = null;
+            nested.clear();
+            for (int k = i; k < groupEnd; k++) {
+                String key = keys[k];
+                int depth = 0;
+                int limit = Math.min(reached, key.length());
+                while (depth < limit && key.charAt(depth) == walked.charAt(depth))
+                    depth++;
+                if (key.length() >= path.length)
+                    path = Arrays.copyOf(path, key.length() * 2);
+                for (TrieNode next; depth < key.length()
+                        && (next = path[depth].children.get(key.charAt(depth))) != null; depth++, visited++)
+                    path[depth + 1] = next;
+                walked = key;
+                reached = depth;
+                start[k] = end[k] = results.size(); // Empty unless found below
+                if (depth < key.length())
+                    continue;
+                if (k == i)
+                    top = path[depth];
+                else
+                    nested.put(path[depth], k);
+            }
+            if (top != null)
+                visited += collectMarked(top, i, nested, results, start, end);
+            i = groupEnd;
+        }
+        return visited;
+    }
+
+    // collectAll that also records [start, end) for the top node and every marked node below it
+    private static int collectMarked(TrieNode top, int topKey, Map<TrieNode, Integer> marked,
+            List<TravelNode> results, int[] start, int[] end) {
+        TrieNodeStack stack = TrieNodeStack.PER_THREAD.get();
+        int base = stack.size;
+        int[] openLevel = new int[8], openKey = new int[8];
+        int open = 0, visited = 0;
+        stack.push(top);
+        while (true) {
+            // A marked subtree is complete once the stack is back to its level
+            while (open > 0 && stack.size <= openLevel[open - 1])
+                end[openKey[--open]] = results.size();
+            if (stack.size == base)
+                return visited;
+            TrieNode node = stack.pop();
+            visited++;
+            Integer key = node == top ? Integer.valueOf(topKey) : marked.isEmpty() ? null : marked.get(node);
+            if (key != null) {
+                if (open == openLevel.length) {
+                    openLevel = Arrays.copyOf(openLevel, open * 2);
+                    openKey = Arrays.copyOf(openKey, open * 2);
+                }
+                start[key] = results.size();
+                openLevel[open] = stack.size;
+                openKey[open++] = key;
+            }
+            if (node.isEndOfWord)
+                results.addAll(node.nodeData);
+            node.children.forEach(stack);
+        }
+    }
+
+    // Iterative subtree walk on the thread's reusable stack: only the result list allocates. Returns nodes walked
+    private static int collectAll(TrieNode start, List<TravelNode> results) {
+        TrieNodeStack stack = TrieNodeStack.PER_THREAD.get();
+        int base = stack.size, visited = 0;
+        stack.push(start);
+        while (stack.size > base) {
+            TrieNode node = stack.pop();
+            visited++;
+            if (node.isEndOfWord)
+                results.addAll(node.nodeData);
+            node.children.forEach(stack);
+        }
+        return visited;
+    }
+}
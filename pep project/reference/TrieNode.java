@@ -0,0 +1,10 @@
+import java.util.*;
+
+class TrieNode {
+    Map<Character, TrieNode> children = new HashMap<>();
+    boolean isEndOfWord = false;
+    // Every city with this exact name, sorted by id (same-name cities coexist); null unless isEndOfWord
+    List<TravelNode> nodeData = null;
+    // Best-rated cities in this subtree, sorted by BY_RATING, at most TOP_K_CACHE
+    List<TravelNode> topRated = new ArrayList<>(0);
+}
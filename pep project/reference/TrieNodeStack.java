@@ -0,0 +1,48 @@
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * Per-thread explicit stack for Trie walks. It is the BiConsumer handed to
+ * HashMap.forEach, so children are pushed without creating iterators.
+ * Each entry also keeps the edge character it was reached by and its depth
+ * (childDepth at push time); pop() exposes them as poppedEdge/poppedDepth.
+ */
+final class TrieNodeStack implements BiConsumer<Character, TrieNode> {
+    static final ThreadLocal<TrieNodeStack> PER_THREAD = ThreadLocal.withInitial(TrieNodeStack::new);
+
+    private TrieNode[] items = new TrieNode[64];
+    private char[] edges = new char[64];
+    private int[] depths = new int[64];
+    int size;
+    int childDepth; // Depth recorded for the next pushes
+    char poppedEdge;
+    int poppedDepth;
+
+    @Override
+    public void accept(Character edge, TrieNode child) {
+        push(child, edge);
+    }
+
+    void push(TrieNode node) {
+        push(node, '\0');
+    }
+
+    void push(TrieNode node, char edge) {
+        if (size == items.length) {
+            items = Arrays.copyOf(items, size * 2);
+            edges = Arrays.copyOf(edges, size * 2);
+            depths = Arrays.copyOf(depths, size * 2);
+        }
+        edges[size] = edge;
+        depths[size] = childDepth;
+        items[size++] = node;
+    }
+
+    TrieNode pop() {
+        TrieNode node = items[--size];
+        items[size] = null;
+        poppedEdge = edges[size];
+        poppedDepth = depths[size];
+        return node;
+    }
+}